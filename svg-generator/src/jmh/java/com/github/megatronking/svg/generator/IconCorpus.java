@@ -0,0 +1,59 @@
+package com.github.megatronking.svg.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The svg icons of svg-iconlibs, all the benchmarks run over them.
+ */
+
+public class IconCorpus {
+
+    /**
+     * @param dir The directory of svg-iconlibs.
+     * @return All the svg files under the directory, sorted by the path.
+     */
+    public static List<File> listSvgFiles(String dir) {
+        File root = new File(dir);
+        if (!root.isDirectory()) {
+            throw new IllegalArgumentException("The corpus " + root.getAbsolutePath() + " is not a directory.");
+        }
+        List<File> files = new ArrayList<File>();
+        collect(root, files);
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No svg file found in " + root.getAbsolutePath());
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    public static byte[] readBytes(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            byte[] bytes = new byte[(int) raf.length()];
+            raf.readFully(bytes);
+            return bytes;
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static void collect(File dir, List<File> files) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                collect(child, files);
+            } else if (child.getName().endsWith(".svg")) {
+                files.add(child);
+            }
+        }
+    }
+
+}
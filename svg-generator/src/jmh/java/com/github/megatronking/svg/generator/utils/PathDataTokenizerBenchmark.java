@@ -0,0 +1,114 @@
+package com.github.megatronking.svg.generator.utils;
+
+import com.github.megatronking.svg.generator.IconCorpus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parse all the "d" attributes of svg-iconlibs by {@link PathDataTokenizer}, by
+ * {@link PathData#parse(CharSequence)} and by the {@link LegacyPathDataParser}.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PathDataTokenizerBenchmark {
+
+    private static final Pattern PATH_DATA = Pattern.compile("\\sd\\s*=\\s*\"([^\"]*)\"");
+
+    @Param("../svg-iconlibs")
+    public String corpusDir;
+
+    private String[] mPathData;
+    private PathDataTokenizer mTokenizer;
+    private FloatArray mParams;
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> pathData = new ArrayList<String>();
+        Charset utf8 = Charset.forName("UTF-8");
+        for (File file : IconCorpus.listSvgFiles(corpusDir)) {
+            Matcher matcher = PATH_DATA.matcher(new String(IconCorpus.readBytes(file), utf8));
+            while (matcher.find()) {
+                pathData.add(matcher.group(1));
+            }
+        }
+        mPathData = pathData.toArray(new String[pathData.size()]);
+        mTokenizer = new PathDataTokenizer();
+        mParams = new FloatArray();
+        // Both parsers must read the same commands and numbers, or the comparison is meaningless.
+        for (String d : mPathData) {
+            verify(d);
+        }
+    }
+
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) {
+        PathDataTokenizer tokenizer = mTokenizer;
+        FloatArray params = mParams;
+        for (String d : mPathData) {
+            tokenizer.reset(d);
+            char command;
+            while ((command = tokenizer.nextCommand(params)) != 0) {
+                blackhole.consume(command);
+                blackhole.consume(params.size());
+            }
+        }
+    }
+
+    @Benchmark
+    public void pathData(Blackhole blackhole) {
+        for (String d : mPathData) {
+            blackhole.consume(PathData.parse(d));
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String d : mPathData) {
+            blackhole.consume(LegacyPathDataParser.parse(d));
+        }
+    }
+
+    private void verify(String d) {
+        LegacyPathDataParser.Node[] nodes = LegacyPathDataParser.parse(d);
+        mTokenizer.reset(d);
+        for (LegacyPathDataParser.Node node : nodes) {
+            char command = mTokenizer.nextCommand(mParams);
+            boolean same = command == node.type && mParams.size() == node.params.length;
+            for (int i = 0; same && i < node.params.length; i++) {
+                same = Float.floatToIntBits(mParams.get(i)) == Float.floatToIntBits(node.params[i]);
+            }
+            if (!same) {
+                throw new IllegalStateException("The parsers disagree on \"" + d + "\"");
+            }
+        }
+        if (mTokenizer.nextCommand(mParams) != 0) {
+            throw new IllegalStateException("The parsers disagree on \"" + d + "\"");
+        }
+    }
+
+}
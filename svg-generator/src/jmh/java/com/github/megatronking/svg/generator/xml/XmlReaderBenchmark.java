@@ -0,0 +1,80 @@
+package com.github.megatronking.svg.generator.xml;
+
+import com.github.megatronking.svg.generator.IconCorpus;
+import com.github.megatronking.svg.generator.svg.SvgSAXReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read all the svg files of svg-iconlibs into the models by the StAX reader and by the dom4j
+ * reader. The files are loaded in memory first, so only the parsing is measured, and the
+ * allocation of both modes is reported by the gc profiler as gc.alloc.rate.norm.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class XmlReaderBenchmark {
+
+    @Param("../svg-iconlibs")
+    public String corpusDir;
+
+    private byte[][] mFiles;
+    private SvgSAXReader mStAXReader;
+    private SvgSAXReader mDomReader;
+
+    @Setup
+    public void setup() throws IOException, XmlParseException {
+        List<File> files = IconCorpus.listSvgFiles(corpusDir);
+        mFiles = new byte[files.size()][];
+        for (int i = 0; i < mFiles.length; i++) {
+            mFiles[i] = IconCorpus.readBytes(files.get(i));
+        }
+        mStAXReader = new SvgSAXReader(true);
+        mDomReader = new SvgSAXReader(false);
+        // Both modes must accept the whole corpus, or they are not parsing the same work.
+        for (int i = 0; i < mFiles.length; i++) {
+            try {
+                mStAXReader.read(new ByteArrayInputStream(mFiles[i]));
+                mDomReader.read(new ByteArrayInputStream(mFiles[i]));
+            } catch (XmlParseException e) {
+                throw new XmlParseException("Failed to read " + files.get(i) + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void stax(Blackhole blackhole) throws IOException, XmlParseException {
+        for (byte[] file : mFiles) {
+            blackhole.consume(mStAXReader.read(new ByteArrayInputStream(file)));
+        }
+    }
+
+    @Benchmark
+    public void dom(Blackhole blackhole) throws IOException, XmlParseException {
+        for (byte[] file : mFiles) {
+            blackhole.consume(mDomReader.read(new ByteArrayInputStream(file)));
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.utils.PathData;
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Path;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Intersect the clip paths with the paths they clip at build time, so nothing is clipped by the
+ * canvas at runtime. A clip path clips the paths after it in its group, including the children of
+ * the groups. The strokes of the clipped paths are outlined into fills.
+ *
+ * If any clipped path is too complex, the clip path is kept and the paths are clipped at runtime,
+ * and the clip of the parent groups is intersected into it. It should run after
+ * {@link TransformBakingPass}.
+ */
+
+public class ClipFlatteningPass implements IVectorPass {
+
+    // The geometry is worked out in a viewport of this size, the stroker is accurate to about a unit.
+    private static final float WORK_SIZE = 4096;
+
+    // A clipped path is too complex if it has more segments than this times the path and the clip.
+    private static final int MAX_SEGMENT_GROWTH = 2;
+
+    private AffineTransform mTransform;
+    private AffineTransform mInverseTransform;
+    private float mArcTolerance;
+
+    @Override
+    public void apply(Vector vector) {
+        float viewportSize = Math.max(vector.viewportWidth, vector.viewportHeight);
+        if (viewportSize <= 0) {
+            return;
+        }
+        float scale = WORK_SIZE / viewportSize;
+        mTransform = AffineTransform.getScaleInstance(scale, scale);
+        mInverseTransform = AffineTransform.getScaleInstance(1 / scale, 1 / scale);
+        mArcTolerance = PathDataExpander.DEFAULT_ARC_TOLERANCE * viewportSize;
+        replaceChildren(vector.children, null, new IdentityHashMap<Path, List<Path>>());
+    }
+
+    /**
+     * Replace the paths by the clipped ones, until a clip path starts another scope.
+     *
+     * @param clip The clip of the parents, null if the children are not clipped at build time.
+     * @param clippedPaths The clipped paths, which are worked out by {@link #clipChildren}.
+     */
+    private void replaceChildren(List<Object> children, Area clip, Map<Path, List<Path>> clippedPaths) {
+        for (int i = 0; i < children.size(); i++) {
+            Object child = children.get(i);
+            if (child instanceof ClipPath) {
+                ClipPath clipPath = (ClipPath) child;
+                Area scopeClip = getFillArea(clipPath.pathData, false);
+                if (clip != null) {
+                    scopeClip.intersect(clip);
+                }
+                Map<Path, List<Path>> scopeClippedPaths = new IdentityHashMap<>();
+                if (clipChildren(children.subList(i + 1, children.size()), scopeClip, scopeClippedPaths)) {
+                    children.remove(i);
+                    replaceChildren(children.subList(i, children.size()), scopeClip, scopeClippedPaths);
+                } else {
+                    // the paths are clipped by the canvas, which clips them by the parents as well
+                    clipPath.pathData = toPathData(scopeClip);
+                    replaceChildren(children.subList(i + 1, children.size()), null, scopeClippedPaths);
+                }
+                return;
+            }
+            if (child instanceof Group) {
+                replaceChildren(((Group) child).children, clip, clippedPaths);
+            } else if (child instanceof Path && clip != null) {
+                List<Path> paths = clippedPaths.get(child);
+                children.remove(i);
+                children.addAll(i, paths);
+                i += paths.size() - 1;
+            }
+        }
+    }
+
+    /**
+     * Work out the clipped paths, until a clip path starts another scope.
+     *
+     * @return false if any clipped path is too complex.
+     */
+    private boolean clipChildren(List<Object> children, Area clip, Map<Path, List<Path>> clippedPaths) {
+        int clipSegmentCount = getSegmentCount(clip);
+        for (Object child : children) {
+            if (child instanceof ClipPath) {
+                return true;
+            }
+            if (child instanceof Group) {
+                if (!clipChildren(((Group) child).children, clip, clippedPaths)) {
+                    return false;
+                }
+            } else if (child instanceof Path) {
+                List<Path> paths = clipPath((Path) child, clip, clipSegmentCount);
+                if (paths == null) {
+                    return false;
+                }
+                clippedPaths.put((Path) child, paths);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the fill and the outlined stroke of the clipped path, or null if it is too complex.
+     */
+    private List<Path> clipPath(Path path, Area clip, int clipSegmentCount) {
+        List<Path> paths = new ArrayList<>();
+        if (path.pathData == null || path.pathData.isEmpty()) {
+            return paths;
+        }
+        if (path.fillColor != 0) {
+            Area area = getFillArea(path.pathData, "evenOdd".equals(path.fillType));
+            Area clipped = clipArea(area, clip, clipSegmentCount);
+            if (clipped == null) {
+                return null;
+            }
+            if (!clipped.isEmpty()) {
+                paths.add(createFillPath(path, toPathData(clipped), path.fillColor, path.fillAlpha));
+            }
+        }
+        if (path.strokeColor != 0) {
+            // a hairline could not be outlined
+            if (path.strokeWidth <= 0) {
+                return null;
+            }
+            Path2D.Float path2D = Path2DConverter.toPath2D(path.pathData, false, mArcTolerance);
+            path2D.transform(mTransform);
+            Shape outline = Path2DConverter.createStroke(path, path.strokeWidth * (float) mTransform.getScaleX())
+                    .createStrokedShape(path2D);
+            Area clipped = clipArea(new Area(outline), clip, clipSegmentCount);
+            if (clipped == null) {
+                return null;
+            }
+            if (!clipped.isEmpty()) {
+                paths.add(createFillPath(path, toPathData(clipped), path.strokeColor, path.strokeAlpha));
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * @return the clipped area, or null if it is too complex.
+     */
+    private Area clipArea(Area area, Area clip, int clipSegmentCount) {
+        int segmentCount = getSegmentCount(area);
+        area.intersect(clip);
+        if (getSegmentCount(area) > MAX_SEGMENT_GROWTH * (segmentCount + clipSegmentCount)) {
+            return null;
+        }
+        return area;
+    }
+
+    private Path createFillPath(Path path, PathData pathData, int color, float alpha) {
+        Path fillPath = new Path(path.parentGroup);
+        fillPath.name = path.name;
+        fillPath.pathData = pathData;
+        fillPath.fillColor = color;
+        fillPath.fillAlpha = alpha;
+        fillPath.fillType = "nonZero";
+        fillPath.trimPathEnd = 1.0f;
+        return fillPath;
+    }
+
+    private Area getFillArea(PathData pathData, boolean evenOdd) {
+        if (pathData == null) {
+            return new Area();
+        }
+        Path2D.Float path2D = Path2DConverter.toPath2D(pathData, evenOdd, mArcTolerance);
+        path2D.transform(mTransform);
+        return new Area(path2D);
+    }
+
+    private PathData toPathData(Area area) {
+        return Path2DConverter.toPathData(area.getPathIterator(mInverseTransform));
+    }
+
+    private int getSegmentCount(Area area) {
+        int count = 0;
+        for (PathIterator iterator = area.getPathIterator(null); !iterator.isDone(); iterator.next()) {
+            count++;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.github.megatronking.svg.generator.render;
+
+/**
+ * Receive the primitive commands of android.graphics.Path, expanded by {@link PathDataExpander}.
+ */
+
+public interface IPathBuilder {
+
+    void moveTo(float x, float y);
+
+    void rMoveTo(float dx, float dy);
+
+    void lineTo(float x, float y);
+
+    void rLineTo(float dx, float dy);
+
+    void quadTo(float x1, float y1, float x2, float y2);
+
+    void rQuadTo(float dx1, float dy1, float dx2, float dy2);
+
+    void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3);
+
+    void rCubicTo(float dx1, float dy1, float dx2, float dy2, float dx3, float dy3);
+
+    void close();
+
+}
@@ -0,0 +1,14 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+/**
+ * A pass changes the vector model before it is rendered, so that the generated code is cheaper
+ * while the drawing looks the same.
+ */
+
+public interface IVectorPass {
+
+    void apply(Vector vector);
+
+}
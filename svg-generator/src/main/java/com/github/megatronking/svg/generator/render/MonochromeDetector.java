@@ -0,0 +1,53 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Path;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.util.List;
+
+/**
+ * Detect the vectors drawn in a single color, the alphas of the paths may differ. The runtime
+ * renders them into an alpha mask and applies the color when the mask is drawn.
+ */
+
+public class MonochromeDetector {
+
+    private static final int NONE = 0;
+    // not an opaque color
+    private static final int MULTIPLE = 1;
+
+    /**
+     * @return the opaque color of the vector, or 0 if it is drawn in several colors or nothing.
+     */
+    public static int getColor(Vector vector) {
+        int color = getColor(vector.children, NONE);
+        return color == MULTIPLE ? 0 : color;
+    }
+
+    private static int getColor(List<Object> children, int color) {
+        for (Object child : children) {
+            if (color == MULTIPLE) {
+                break;
+            }
+            if (child instanceof Group) {
+                color = getColor(((Group) child).children, color);
+            } else if (child instanceof Path && !(child instanceof ClipPath)) {
+                Path path = (Path) child;
+                color = mergeColor(color, path.fillColor, path.fillAlpha);
+                color = mergeColor(color, path.strokeColor, path.strokeAlpha);
+            }
+        }
+        return color;
+    }
+
+    private static int mergeColor(int color, int pathColor, float alpha) {
+        if (color == MULTIPLE || (int) ((pathColor >>> 24) * alpha) == 0) {
+            return color;
+        }
+        int opaqueColor = pathColor | 0xFF000000;
+        return color == NONE || color == opaqueColor ? opaqueColor : MULTIPLE;
+    }
+
+}
@@ -10,6 +10,12 @@ public abstract class NotifyVectorRenderer<T> extends CountableVectorRenderer<T>
         }
     }
 
+    protected void notifyCacheResult(String result) {
+        if (mVectorRendererListener != null) {
+            mVectorRendererListener.receiveCacheResult(result);
+        }
+    }
+
     public void setVectorRendererListener(VectorRendererListener vectorRendererListener) {
         mVectorRendererListener = vectorRendererListener;
     }
@@ -18,6 +24,11 @@ public abstract class NotifyVectorRenderer<T> extends CountableVectorRenderer<T>
 
         void receiveResult(String result);
 
+        /**
+         * Receive the code which builds the cached paths, it runs only when the size is changed.
+         */
+        void receiveCacheResult(String result);
+
     }
 
     protected void writeNewLine() {
@@ -0,0 +1,219 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Path;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.awt.BasicStroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Drop the paths which are fully covered by the opaque paths drawn later, and optionally union the
+ * adjacent opaque fills of the same color into one path. The vectors with clip paths are skipped,
+ * a clip changes what a later path covers. It should run after {@link TransformBakingPass} and
+ * the passes changing the geometry.
+ *
+ * <p>The pass is opt-in. A translucent tint or alpha applied to each path, as the Normal strategy
+ * does, shows the culled paths through their covers.</p>
+ */
+
+public class OcclusionCullingPass implements IVectorPass {
+
+    // The geometry is worked out in a viewport of this size, the stroker is accurate to about a unit.
+    private static final float WORK_SIZE = 4096;
+
+    // A covered path is kept if its edges are less than a pixel away from the edges of the cover at
+    // this size, the antialiased edges of the cover are not opaque.
+    private static final float MIN_RENDER_SIZE = 16;
+
+    private final boolean mMergeFills;
+
+    private AffineTransform mTransform;
+    private AffineTransform mInverseTransform;
+    private float mArcTolerance;
+    private Area mViewport;
+    private BasicStroke mMarginStroke;
+
+    public OcclusionCullingPass() {
+        this(false);
+    }
+
+    /**
+     * @param mergeFills Also union the adjacent opaque fills of the same color, which changes the
+     *                   antialiased edges between them.
+     */
+    public OcclusionCullingPass(boolean mergeFills) {
+        mMergeFills = mergeFills;
+    }
+
+    @Override
+    public void apply(Vector vector) {
+        float viewportSize = Math.max(vector.viewportWidth, vector.viewportHeight);
+        if (viewportSize <= 0 || hasClipPath(vector.children)) {
+            return;
+        }
+        float scale = WORK_SIZE / viewportSize;
+        mTransform = AffineTransform.getScaleInstance(scale, scale);
+        mInverseTransform = AffineTransform.getScaleInstance(1 / scale, 1 / scale);
+        mArcTolerance = PathDataExpander.DEFAULT_ARC_TOLERANCE * viewportSize;
+        mViewport = new Area(new Rectangle2D.Float(0, 0, vector.viewportWidth * scale,
+                vector.viewportHeight * scale));
+        mMarginStroke = new BasicStroke(2 * WORK_SIZE / MIN_RENDER_SIZE, BasicStroke.CAP_ROUND,
+                BasicStroke.JOIN_ROUND);
+
+        if (mMergeFills) {
+            mergeChildren(vector.children);
+        }
+
+        List<Path> paths = new ArrayList<>();
+        List<List<Object>> parents = new ArrayList<>();
+        collectPaths(vector.children, paths, parents);
+        // Walk backward, the paths drawn later cover the former ones.
+        Area cover = new Area();
+        for (int i = paths.size() - 1; i >= 0; i--) {
+            Path path = paths.get(i);
+            if (path.pathData == null || path.pathData.isEmpty()) {
+                continue;
+            }
+            Area area = getCoveredArea(path);
+            area.intersect(mViewport);
+            if (area.isEmpty() || isCovered(area, cover)) {
+                parents.get(i).remove(path);
+                continue;
+            }
+            cover.add(getOpaqueArea(path));
+        }
+    }
+
+    private boolean hasClipPath(List<Object> children) {
+        for (Object child : children) {
+            if (child instanceof ClipPath || (child instanceof Group && hasClipPath(((Group) child).children))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collectPaths(List<Object> children, List<Path> paths, List<List<Object>> parents) {
+        for (Object child : children) {
+            if (child instanceof Path) {
+                paths.add((Path) child);
+                parents.add(children);
+            } else if (child instanceof Group) {
+                collectPaths(((Group) child).children, paths, parents);
+            }
+        }
+    }
+
+    private void mergeChildren(List<Object> children) {
+        Path merged = null;
+        Area mergedArea = null;
+        Iterator<Object> iterator = children.iterator();
+        while (iterator.hasNext()) {
+            Object child = iterator.next();
+            if (child instanceof Group) {
+                updateMergedPath(merged, mergedArea);
+                merged = null;
+                mergeChildren(((Group) child).children);
+                continue;
+            }
+            if (!(child instanceof Path)) {
+                continue;
+            }
+            Path path = (Path) child;
+            if (!isMergeable(path)) {
+                updateMergedPath(merged, mergedArea);
+                merged = null;
+                continue;
+            }
+            if (merged != null && merged.fillColor == path.fillColor) {
+                if (mergedArea == null) {
+                    mergedArea = getFillArea(merged);
+                }
+                mergedArea.add(getFillArea(path));
+                iterator.remove();
+            } else {
+                updateMergedPath(merged, mergedArea);
+                merged = path;
+                mergedArea = null;
+            }
+        }
+        updateMergedPath(merged, mergedArea);
+    }
+
+    private void updateMergedPath(Path path, Area area) {
+        if (path != null && area != null) {
+            path.pathData = Path2DConverter.toPathData(area.getPathIterator(mInverseTransform));
+            path.fillType = "nonZero";
+        }
+    }
+
+    private boolean isMergeable(Path path) {
+        return !(path instanceof ClipPath) && path.pathData != null && !path.pathData.isEmpty()
+                && path.strokeColor == 0 && path.fillColor != 0 && isOpaque(path.fillColor, path.fillAlpha);
+    }
+
+    private boolean isCovered(Area area, Area cover) {
+        if (cover.isEmpty() || !cover.getBounds2D().contains(area.getBounds2D())) {
+            return false;
+        }
+        Area grownArea = new Area(mMarginStroke.createStrokedShape(area));
+        grownArea.add(area);
+        grownArea.intersect(mViewport);
+        grownArea.subtract(cover);
+        return grownArea.isEmpty();
+    }
+
+    private Area getCoveredArea(Path path) {
+        Area area = new Area();
+        if (path.fillColor != 0) {
+            area.add(getFillArea(path));
+        }
+        if (path.strokeColor != 0) {
+            area.add(getStrokeArea(path));
+        }
+        return area;
+    }
+
+    private Area getOpaqueArea(Path path) {
+        Area area = new Area();
+        if (path.fillColor != 0 && isOpaque(path.fillColor, path.fillAlpha)) {
+            area.add(getFillArea(path));
+        }
+        if (path.strokeColor != 0 && path.strokeWidth > 0 && isOpaque(path.strokeColor, path.strokeAlpha)) {
+            area.add(getStrokeArea(path));
+        }
+        return area;
+    }
+
+    private Area getFillArea(Path path) {
+        Path2D.Float path2D = Path2DConverter.toPath2D(path.pathData, "evenOdd".equals(path.fillType),
+                mArcTolerance);
+        path2D.transform(mTransform);
+        return new Area(path2D);
+    }
+
+    private Area getStrokeArea(Path path) {
+        Path2D.Float path2D = Path2DConverter.toPath2D(path.pathData, false, mArcTolerance);
+        path2D.transform(mTransform);
+        // a hairline is about a pixel wide
+        float width = path.strokeWidth > 0 ? path.strokeWidth * (float) mTransform.getScaleX()
+                : WORK_SIZE / MIN_RENDER_SIZE;
+        return new Area(Path2DConverter.createStroke(path, width).createStrokedShape(path2D));
+    }
+
+    /**
+     * The same as the alpha of SVGRenderer.applyAlpha.
+     */
+    private boolean isOpaque(int color, float alpha) {
+        return (int) ((color >>> 24) * alpha) == 0xFF;
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.utils.PathData;
+import com.github.megatronking.svg.generator.vector.model.Path;
+
+import java.awt.BasicStroke;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+
+/**
+ * Convert the paths between the vector model and java.awt.geom, so the geometry could be worked
+ * out by the awt stroker and the path boolean operations at build time.
+ */
+
+public class Path2DConverter {
+
+    /**
+     * @param evenOdd Use the even-odd winding rule, or the non-zero one.
+     * @param arcTolerance The max distance of the curves from the arcs in the units of the path data.
+     */
+    public static Path2D.Float toPath2D(PathData pathData, boolean evenOdd, float arcTolerance) {
+        Path2D.Float path2D = new Path2D.Float(evenOdd ? Path2D.WIND_EVEN_ODD : Path2D.WIND_NON_ZERO);
+        PathDataExpander expander = new PathDataExpander(new Path2DBuilder(path2D));
+        expander.setArcTolerance(arcTolerance);
+        expander.expand(pathData);
+        return path2D;
+    }
+
+    public static PathData toPathData(PathIterator iterator) {
+        PathData pathData = new PathData();
+        float[] coords = new float[6];
+        while (!iterator.isDone()) {
+            switch (iterator.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO:
+                    pathData.addCommand('M', coords, 0, 2);
+                    break;
+                case PathIterator.SEG_LINETO:
+                    pathData.addCommand('L', coords, 0, 2);
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    pathData.addCommand('Q', coords, 0, 4);
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    pathData.addCommand('C', coords, 0, 6);
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    pathData.addCommand('Z');
+                    break;
+            }
+            iterator.next();
+        }
+        return pathData;
+    }
+
+    /**
+     * @param width The width of the stroke, the others are the same as the path's.
+     */
+    public static BasicStroke createStroke(Path path, float width) {
+        return new BasicStroke(width, getCap(path.strokeLineCap), getJoin(path.strokeLineJoin),
+                Math.max(1.0f, path.strokeMiterLimit));
+    }
+
+    /**
+     * The defaults are the same as android.graphics.Paint.
+     */
+    private static int getCap(String cap) {
+        if ("round".equals(cap)) {
+            return BasicStroke.CAP_ROUND;
+        } else if ("square".equals(cap)) {
+            return BasicStroke.CAP_SQUARE;
+        }
+        return BasicStroke.CAP_BUTT;
+    }
+
+    private static int getJoin(String join) {
+        if ("round".equals(join)) {
+            return BasicStroke.JOIN_ROUND;
+        } else if ("bevel".equals(join)) {
+            return BasicStroke.JOIN_BEVEL;
+        }
+        return BasicStroke.JOIN_MITER;
+    }
+
+    private static class Path2DBuilder implements IPathBuilder {
+
+        private Path2D.Float mPath;
+
+        private Path2DBuilder(Path2D.Float path) {
+            mPath = path;
+        }
+
+        @Override
+        public void moveTo(float x, float y) {
+            mPath.moveTo(x, y);
+        }
+
+        @Override
+        public void rMoveTo(float dx, float dy) {
+            if (mPath.getCurrentPoint() == null) {
+                mPath.moveTo(dx, dy);
+            } else {
+                mPath.moveTo(getCurrentX() + dx, getCurrentY() + dy);
+            }
+        }
+
+        @Override
+        public void lineTo(float x, float y) {
+            ensureMoveTo();
+            mPath.lineTo(x, y);
+        }
+
+        @Override
+        public void rLineTo(float dx, float dy) {
+            ensureMoveTo();
+            mPath.lineTo(getCurrentX() + dx, getCurrentY() + dy);
+        }
+
+        @Override
+        public void quadTo(float x1, float y1, float x2, float y2) {
+            ensureMoveTo();
+            mPath.quadTo(x1, y1, x2, y2);
+        }
+
+        @Override
+        public void rQuadTo(float dx1, float dy1, float dx2, float dy2) {
+            ensureMoveTo();
+            float x = getCurrentX();
+            float y = getCurrentY();
+            mPath.quadTo(x + dx1, y + dy1, x + dx2, y + dy2);
+        }
+
+        @Override
+        public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+            ensureMoveTo();
+            mPath.curveTo(x1, y1, x2, y2, x3, y3);
+        }
+
+        @Override
+        public void rCubicTo(float dx1, float dy1, float dx2, float dy2, float dx3, float dy3) {
+            ensureMoveTo();
+            float x = getCurrentX();
+            float y = getCurrentY();
+            mPath.curveTo(x + dx1, y + dy1, x + dx2, y + dy2, x + dx3, y + dy3);
+        }
+
+        @Override
+        public void close() {
+            if (mPath.getCurrentPoint() != null) {
+                mPath.closePath();
+            }
+        }
+
+        /**
+         * The android path starts at the origin, but the awt one needs a move first.
+         */
+        private void ensureMoveTo() {
+            if (mPath.getCurrentPoint() == null) {
+                mPath.moveTo(0, 0);
+            }
+        }
+
+        private float getCurrentX() {
+            return (float) mPath.getCurrentPoint().getX();
+        }
+
+        private float getCurrentY() {
+            return (float) mPath.getCurrentPoint().getY();
+        }
+
+    }
+
+}
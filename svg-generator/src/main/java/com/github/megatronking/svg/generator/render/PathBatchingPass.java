@@ -0,0 +1,226 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.utils.PathData;
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Path;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Merge the adjacent sibling paths which are drawn by the same opaque paints into one path, so
+ * they are drawn by one call. The paths must not overlap, otherwise the winding of one path could
+ * cut a hole in the other. It should run after {@link TransformBakingPass}, the bounds are
+ * measured in the coordinates of the viewport.
+ */
+
+public class PathBatchingPass implements IVectorPass {
+
+    private static final float SQRT_2 = (float) Math.sqrt(2);
+
+    private final BoundsPathBuilder mBoundsBuilder = new BoundsPathBuilder();
+    private final PathDataExpander mPathDataExpander = new PathDataExpander(mBoundsBuilder);
+
+    @Override
+    public void apply(Vector vector) {
+        batchChildren(vector.children);
+    }
+
+    private void batchChildren(List<Object> children) {
+        Path batch = null;
+        boolean batchDataCopied = false;
+        // the bounds of every path in the batch, the union of them is too coarse for a grid
+        List<float[]> batchBounds = new ArrayList<>();
+        Iterator<Object> iterator = children.iterator();
+        while (iterator.hasNext()) {
+            Object child = iterator.next();
+            if (child instanceof Group) {
+                batch = null;
+                batchChildren(((Group) child).children);
+                continue;
+            }
+            if (!(child instanceof Path)) {
+                continue;
+            }
+            Path path = (Path) child;
+            if (!isBatchable(path)) {
+                batch = null;
+                continue;
+            }
+            float[] bounds = measureBounds(path);
+            if (batch != null && hasSamePaints(batch, path) && !intersects(batchBounds, bounds)) {
+                if (!batchDataCopied) {
+                    // the path data may be shared with the svg model
+                    batch.pathData = new PathData(batch.pathData);
+                    batchDataCopied = true;
+                }
+                batch.pathData.append(path.pathData);
+                batchBounds.add(bounds);
+                iterator.remove();
+            } else {
+                batch = path;
+                batchDataCopied = false;
+                batchBounds.clear();
+                batchBounds.add(bounds);
+            }
+        }
+    }
+
+    private boolean isBatchable(Path path) {
+        if (path instanceof ClipPath || path.pathData == null || path.pathData.isEmpty()) {
+            return false;
+        }
+        if (path.fillColor == 0 && path.strokeColor == 0) {
+            return false;
+        }
+        if (path.trimPathStart != 0.0f || path.trimPathEnd != 1.0f) {
+            return false;
+        }
+        return (path.fillColor == 0 || isOpaque(path.fillColor, path.fillAlpha))
+                && (path.strokeColor == 0 || isOpaque(path.strokeColor, path.strokeAlpha));
+    }
+
+    /**
+     * The same as the alpha of SVGRenderer.applyAlpha.
+     */
+    private boolean isOpaque(int color, float alpha) {
+        return (int) ((color >>> 24) * alpha) == 0xFF;
+    }
+
+    private boolean hasSamePaints(Path p1, Path p2) {
+        if (p1.fillColor != p2.fillColor || p1.strokeColor != p2.strokeColor) {
+            return false;
+        }
+        if (p1.fillColor != 0 && "evenOdd".equals(p1.fillType) != "evenOdd".equals(p2.fillType)) {
+            return false;
+        }
+        return p1.strokeColor == 0 || (p1.strokeWidth == p2.strokeWidth
+                && p1.strokeMiterLimit == p2.strokeMiterLimit
+                && equals(p1.strokeLineJoin, p2.strokeLineJoin)
+                && equals(p1.strokeLineCap, p2.strokeLineCap));
+    }
+
+    private boolean equals(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
+
+    private boolean intersects(List<float[]> batchBounds, float[] b2) {
+        for (float[] b1 : batchBounds) {
+            if (b1[0] < b2[2] && b2[0] < b1[2] && b1[1] < b2[3] && b2[1] < b1[3]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Measure the bounds of the control points, which enclose the path, and the stroke around it.
+     */
+    private float[] measureBounds(Path path) {
+        mBoundsBuilder.reset();
+        mPathDataExpander.expand(path.pathData);
+        float outset = 0;
+        if (path.strokeColor != 0) {
+            // the miter or the square cap is the farthest part of a stroke
+            outset = path.strokeWidth / 2 * Math.max(path.strokeMiterLimit, SQRT_2);
+        }
+        return new float[]{mBoundsBuilder.mLeft - outset, mBoundsBuilder.mTop - outset,
+                mBoundsBuilder.mRight + outset, mBoundsBuilder.mBottom + outset};
+    }
+
+    private static class BoundsPathBuilder implements IPathBuilder {
+
+        private float mLeft;
+        private float mTop;
+        private float mRight;
+        private float mBottom;
+
+        private float mCurrentX;
+        private float mCurrentY;
+        private float mStartX;
+        private float mStartY;
+
+        private void reset() {
+            mLeft = Float.POSITIVE_INFINITY;
+            mTop = Float.POSITIVE_INFINITY;
+            mRight = Float.NEGATIVE_INFINITY;
+            mBottom = Float.NEGATIVE_INFINITY;
+            mCurrentX = 0;
+            mCurrentY = 0;
+            mStartX = 0;
+            mStartY = 0;
+        }
+
+        private void add(float x, float y) {
+            mLeft = Math.min(mLeft, x);
+            mTop = Math.min(mTop, y);
+            mRight = Math.max(mRight, x);
+            mBottom = Math.max(mBottom, y);
+        }
+
+        private void addRelative(float dx, float dy) {
+            add(mCurrentX + dx, mCurrentY + dy);
+        }
+
+        @Override
+        public void moveTo(float x, float y) {
+            add(x, y);
+            mCurrentX = mStartX = x;
+            mCurrentY = mStartY = y;
+        }
+
+        @Override
+        public void rMoveTo(float dx, float dy) {
+            moveTo(mCurrentX + dx, mCurrentY + dy);
+        }
+
+        @Override
+        public void lineTo(float x, float y) {
+            add(x, y);
+            mCurrentX = x;
+            mCurrentY = y;
+        }
+
+        @Override
+        public void rLineTo(float dx, float dy) {
+            lineTo(mCurrentX + dx, mCurrentY + dy);
+        }
+
+        @Override
+        public void quadTo(float x1, float y1, float x2, float y2) {
+            add(x1, y1);
+            lineTo(x2, y2);
+        }
+
+        @Override
+        public void rQuadTo(float dx1, float dy1, float dx2, float dy2) {
+            addRelative(dx1, dy1);
+            rLineTo(dx2, dy2);
+        }
+
+        @Override
+        public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+            add(x1, y1);
+            add(x2, y2);
+            lineTo(x3, y3);
+        }
+
+        @Override
+        public void rCubicTo(float dx1, float dy1, float dx2, float dy2, float dx3, float dy3) {
+            addRelative(dx1, dy1);
+            addRelative(dx2, dy2);
+            rLineTo(dx3, dy3);
+        }
+
+        @Override
+        public void close() {
+            mCurrentX = mStartX;
+            mCurrentY = mStartY;
+        }
+
+    }
+
+}
@@ -0,0 +1,446 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.utils.PathData;
+
+/**
+ * Expand the path data into the primitive commands of android.graphics.Path. The shorthand
+ * commands are resolved by the current point and the arcs are approximated by cubic curves.
+ */
+
+public class PathDataExpander {
+
+    /**
+     * The default max distance of the curves from the arcs, relative to the larger side of the
+     * viewport. It is about a tenth of a pixel when the vector is drawn at 192 pixels.
+     */
+    public static final float DEFAULT_ARC_TOLERANCE = 0.0005f;
+
+    private static final int MAX_ARC_SEGMENTS = 64;
+
+    private IPathBuilder mBuilder;
+
+    private float mArcTolerance;
+
+    public PathDataExpander(IPathBuilder builder) {
+        this.mBuilder = builder;
+    }
+
+    /**
+     * @param arcTolerance The max distance of the curves from the arcs in the units of the path
+     *                     data, 0 to split the arcs into the curves of 45 degrees.
+     */
+    public void setArcTolerance(float arcTolerance) {
+        this.mArcTolerance = arcTolerance;
+    }
+
+    public void expand(PathData data) {
+        float[] current = new float[6];
+        char previousCommand = 'm';
+        for (int i = 0; i < data.size(); i++) {
+            char command = data.getCommand(i);
+            addCommand(current, previousCommand, command, data.getCoords(), data.getParamOffset(i),
+                    data.getParamCount(i));
+            previousCommand = command;
+        }
+    }
+
+    private void addCommand(float[] current, char previousCmd, char cmd, float[] val, int offset,
+                            int count) {
+        int incr = 2;
+        float currentX = current[0];
+        float currentY = current[1];
+        float ctrlPointX = current[2];
+        float ctrlPointY = current[3];
+        float currentSegmentStartX = current[4];
+        float currentSegmentStartY = current[5];
+        float reflectiveCtrlPointX;
+        float reflectiveCtrlPointY;
+
+        switch (cmd) {
+            case 'z':
+            case 'Z':
+                mBuilder.close();
+                // Path is closed here, but we need to move the pen to the
+                // closed position. So we cache the segment's starting position,
+                // and restore it here.
+                currentX = currentSegmentStartX;
+                currentY = currentSegmentStartY;
+                ctrlPointX = currentSegmentStartX;
+                ctrlPointY = currentSegmentStartY;
+                mBuilder.moveTo(currentX, ctrlPointY);
+                break;
+            case 'm':
+            case 'M':
+            case 'l':
+            case 'L':
+            case 't':
+            case 'T':
+                incr = 2;
+                break;
+            case 'h':
+            case 'H':
+            case 'v':
+            case 'V':
+                incr = 1;
+                break;
+            case 'c':
+            case 'C':
+                incr = 6;
+                break;
+            case 's':
+            case 'S':
+            case 'q':
+            case 'Q':
+                incr = 4;
+                break;
+            case 'a':
+            case 'A':
+                incr = 7;
+                break;
+        }
+
+        for (int k = offset; k < offset + count; k += incr) {
+            switch (cmd) {
+                case 'm': // moveto - Start a new sub-path (relative)
+                    currentX += val[k];
+                    currentY += val[k + 1];
+                    if (k > offset) {
+                        // According to the spec, if a moveto is followed by multiple
+                        // pairs of coordinates, the subsequent pairs are treated as
+                        // implicit lineto commands.
+                        mBuilder.rLineTo(val[k], val[k + 1]);
+                    } else {
+                        mBuilder.rMoveTo(val[k], val[k + 1]);
+                        currentSegmentStartX = currentX;
+                        currentSegmentStartY = currentY;
+                    }
+                    break;
+                case 'M': // moveto - Start a new sub-path
+                    currentX = val[k];
+                    currentY = val[k + 1];
+                    if (k > offset) {
+                        // According to the spec, if a moveto is followed by multiple
+                        // pairs of coordinates, the subsequent pairs are treated as
+                        // implicit lineto commands.
+                        mBuilder.lineTo(val[k], val[k + 1]);
+                    } else {
+                        mBuilder.moveTo(val[k], val[k + 1]);
+                        currentSegmentStartX = currentX;
+                        currentSegmentStartY = currentY;
+                    }
+                    break;
+                case 'l': // lineto - Draw a line from the current point (relative)
+                    mBuilder.rLineTo(val[k], val[k + 1]);
+                    currentX += val[k];
+                    currentY += val[k + 1];
+                    break;
+                case 'L': // lineto - Draw a line from the current point
+                    mBuilder.lineTo(val[k], val[k + 1]);
+                    currentX = val[k];
+                    currentY = val[k + 1];
+                    break;
+                case 'h': // horizontal lineto - Draws a horizontal line (relative)
+                    mBuilder.rLineTo(val[k], 0);
+                    currentX += val[k];
+                    break;
+                case 'H': // horizontal lineto - Draws a horizontal line
+                    mBuilder.lineTo(val[k], currentY);
+                    currentX = val[k];
+                    break;
+                case 'v': // vertical lineto - Draws a vertical line from the current point (r)
+                    mBuilder.rLineTo(0, val[k]);
+                    currentY += val[k];
+                    break;
+                case 'V': // vertical lineto - Draws a vertical line from the current point
+                    mBuilder.lineTo(currentX, val[k]);
+                    currentY = val[k];
+                    break;
+                case 'c': // curveto - Draws a cubic Bézier curve (relative)
+                    mBuilder.rCubicTo(val[k], val[k + 1], val[k + 2], val[k + 3], val[k + 4], val[k + 5]);
+                    ctrlPointX = currentX + val[k + 2];
+                    ctrlPointY = currentY + val[k + 3];
+                    currentX += val[k + 4];
+                    currentY += val[k + 5];
+
+                    break;
+                case 'C': // curveto - Draws a cubic Bézier curve
+                    mBuilder.cubicTo(val[k], val[k + 1], val[k + 2], val[k + 3], val[k + 4], val[k + 5]);
+                    currentX = val[k + 4];
+                    currentY = val[k + 5];
+                    ctrlPointX = val[k + 2];
+                    ctrlPointY = val[k + 3];
+                    break;
+                case 's': // smooth curveto - Draws a cubic Bézier curve (reflective cp)
+                    reflectiveCtrlPointX = 0;
+                    reflectiveCtrlPointY = 0;
+                    if (previousCmd == 'c' || previousCmd == 's'
+                            || previousCmd == 'C' || previousCmd == 'S') {
+                        reflectiveCtrlPointX = currentX - ctrlPointX;
+                        reflectiveCtrlPointY = currentY - ctrlPointY;
+                    }
+                    mBuilder.rCubicTo(reflectiveCtrlPointX, reflectiveCtrlPointY, val[k], val[k + 1],
+                            val[k + 2], val[k + 3]);
+                    ctrlPointX = currentX + val[k];
+                    ctrlPointY = currentY + val[k + 1];
+                    currentX += val[k + 2];
+                    currentY += val[k + 3];
+                    break;
+                case 'S': // shorthand/smooth curveto Draws a cubic Bézier curve(reflective cp)
+                    reflectiveCtrlPointX = currentX;
+                    reflectiveCtrlPointY = currentY;
+                    if (previousCmd == 'c' || previousCmd == 's'
+                            || previousCmd == 'C' || previousCmd == 'S') {
+                        reflectiveCtrlPointX = 2 * currentX - ctrlPointX;
+                        reflectiveCtrlPointY = 2 * currentY - ctrlPointY;
+                    }
+                    mBuilder.cubicTo(reflectiveCtrlPointX, reflectiveCtrlPointY, val[k], val[k + 1],
+                            val[k + 2], val[k + 3]);
+                    ctrlPointX = val[k];
+                    ctrlPointY = val[k + 1];
+                    currentX = val[k + 2];
+                    currentY = val[k + 3];
+                    break;
+                case 'q': // Draws a quadratic Bézier (relative)
+                    mBuilder.rQuadTo(val[k], val[k + 1], val[k + 2], val[k + 3]);
+                    ctrlPointX = currentX + val[k];
+                    ctrlPointY = currentY + val[k + 1];
+                    currentX += val[k + 2];
+                    currentY += val[k + 3];
+                    break;
+                case 'Q': // Draws a quadratic Bézier
+                    mBuilder.quadTo(val[k], val[k + 1], val[k + 2], val[k + 3]);
+                    ctrlPointX = val[k];
+                    ctrlPointY = val[k + 1];
+                    currentX = val[k + 2];
+                    currentY = val[k + 3];
+                    break;
+                case 't': // Draws a quadratic Bézier curve(reflective control point)(relative)
+                    reflectiveCtrlPointX = 0;
+                    reflectiveCtrlPointY = 0;
+                    if (previousCmd == 'q' || previousCmd == 't'
+                            || previousCmd == 'Q' || previousCmd == 'T') {
+                        reflectiveCtrlPointX = currentX - ctrlPointX;
+                        reflectiveCtrlPointY = currentY - ctrlPointY;
+                    }
+                    mBuilder.rQuadTo(reflectiveCtrlPointX, reflectiveCtrlPointY, val[k], val[k + 1]);
+                    ctrlPointX = currentX + reflectiveCtrlPointX;
+                    ctrlPointY = currentY + reflectiveCtrlPointY;
+                    currentX += val[k];
+                    currentY += val[k + 1];
+                    break;
+                case 'T': // Draws a quadratic Bézier curve (reflective control point)
+                    reflectiveCtrlPointX = currentX;
+                    reflectiveCtrlPointY = currentY;
+                    if (previousCmd == 'q' || previousCmd == 't'
+                            || previousCmd == 'Q' || previousCmd == 'T') {
+                        reflectiveCtrlPointX = 2 * currentX - ctrlPointX;
+                        reflectiveCtrlPointY = 2 * currentY - ctrlPointY;
+                    }
+                    mBuilder.quadTo(reflectiveCtrlPointX, reflectiveCtrlPointY, val[k], val[k + 1]);
+                    ctrlPointX = reflectiveCtrlPointX;
+                    ctrlPointY = reflectiveCtrlPointY;
+                    currentX = val[k];
+                    currentY = val[k + 1];
+                    break;
+                case 'a': // Draws an elliptical arc
+                    // (rx ry x-axis-rotation large-arc-flag sweep-flag x y)
+                    drawArc(currentX,
+                            currentY,
+                            val[k + 5] + currentX,
+                            val[k + 6] + currentY,
+                            val[k],
+                            val[k + 1],
+                            val[k + 2],
+                            val[k + 3] != 0,
+                            val[k + 4] != 0);
+                    currentX += val[k + 5];
+                    currentY += val[k + 6];
+                    ctrlPointX = currentX;
+                    ctrlPointY = currentY;
+                    break;
+                case 'A': // Draws an elliptical arc
+                    drawArc(currentX,
+                            currentY,
+                            val[k + 5],
+                            val[k + 6],
+                            val[k],
+                            val[k + 1],
+                            val[k + 2],
+                            val[k + 3] != 0,
+                            val[k + 4] != 0);
+                    currentX = val[k + 5];
+                    currentY = val[k + 6];
+                    ctrlPointX = currentX;
+                    ctrlPointY = currentY;
+                    break;
+            }
+            previousCmd = cmd;
+        }
+        current[0] = currentX;
+        current[1] = currentY;
+        current[2] = ctrlPointX;
+        current[3] = ctrlPointY;
+        current[4] = currentSegmentStartX;
+        current[5] = currentSegmentStartY;
+    }
+
+    private void drawArc(float x0,
+                         float y0,
+                         float x1,
+                         float y1,
+                         float a,
+                         float b,
+                         float theta,
+                         boolean isMoreThanHalf,
+                         boolean isPositiveArc) {
+
+            /* Convert rotation angle from degrees to radians */
+        double thetaD = Math.toRadians(theta);
+            /* Pre-compute rotation matrix entries */
+        double cosTheta = Math.cos(thetaD);
+        double sinTheta = Math.sin(thetaD);
+            /* Transform (x0, y0) and (x1, y1) into unit space */
+            /* using (inverse) rotation, followed by (inverse) scale */
+        double x0p = (x0 * cosTheta + y0 * sinTheta) / a;
+        double y0p = (-x0 * sinTheta + y0 * cosTheta) / b;
+        double x1p = (x1 * cosTheta + y1 * sinTheta) / a;
+        double y1p = (-x1 * sinTheta + y1 * cosTheta) / b;
+
+            /* Compute differences and averages */
+        double dx = x0p - x1p;
+        double dy = y0p - y1p;
+        double xm = (x0p + x1p) / 2;
+        double ym = (y0p + y1p) / 2;
+            /* Solve for intersecting unit circles */
+        double dsq = dx * dx + dy * dy;
+        if (dsq == 0.0) {
+            return; /* Points are coincident */
+        }
+        double disc = 1.0 / dsq - 1.0 / 4.0;
+        if (disc < 0.0) {
+            float adjust = (float) (Math.sqrt(dsq) / 1.99999);
+            drawArc(x0, y0, x1, y1, a * adjust,
+                    b * adjust, theta, isMoreThanHalf, isPositiveArc);
+            return; /* Points are too far apart */
+        }
+        double s = Math.sqrt(disc);
+        double sdx = s * dx;
+        double sdy = s * dy;
+        double cx;
+        double cy;
+        if (isMoreThanHalf == isPositiveArc) {
+            cx = xm - sdy;
+            cy = ym + sdx;
+        } else {
+            cx = xm + sdy;
+            cy = ym - sdx;
+        }
+
+        double eta0 = Math.atan2((y0p - cy), (x0p - cx));
+
+        double eta1 = Math.atan2((y1p - cy), (x1p - cx));
+
+        double sweep = (eta1 - eta0);
+        if (isPositiveArc != (sweep >= 0)) {
+            if (sweep > 0) {
+                sweep -= 2 * Math.PI;
+            } else {
+                sweep += 2 * Math.PI;
+            }
+        }
+
+        cx *= a;
+        cy *= b;
+        double tcx = cx;
+        cx = cx * cosTheta - cy * sinTheta;
+        cy = tcx * sinTheta + cy * cosTheta;
+
+        arcToBezier(cx, cy, a, b, x0, y0, thetaD, eta0, sweep);
+    }
+
+    /**
+     * Converts an arc to cubic Bezier segments and records them in p.
+     *
+     * @param cx    The x coordinate center of the ellipse
+     * @param cy    The y coordinate center of the ellipse
+     * @param a     The radius of the ellipse in the horizontal direction
+     * @param b     The radius of the ellipse in the vertical direction
+     * @param e1x   E(eta1) x coordinate of the starting point of the arc
+     * @param e1y   E(eta2) y coordinate of the starting point of the arc
+     * @param theta The angle that the ellipse bounding rectangle makes with horizontal plane
+     * @param start The start angle of the arc on the ellipse
+     * @param sweep The angle (positive or negative) of the sweep of the arc on the ellipse
+     */
+    private void arcToBezier(double cx,
+                             double cy,
+                             double a,
+                             double b,
+                             double e1x,
+                             double e1y,
+                             double theta,
+                             double start,
+                             double sweep) {
+        // Taken from equations at: http://spaceroots.org/documents/ellipse/node8.html
+        // and http://www.spaceroots.org/documents/ellipse/node22.html
+        // The control points are of the tangent length 4/3 * tan(angle / 4), the ellipse is an
+        // affine circle, so its curves are as close as the circle's.
+        int numSegments = getArcSegmentCount(Math.max(Math.abs(a), Math.abs(b)), Math.abs(sweep));
+
+        double eta1 = start;
+        double cosTheta = Math.cos(theta);
+        double sinTheta = Math.sin(theta);
+        double cosEta1 = Math.cos(eta1);
+        double sinEta1 = Math.sin(eta1);
+        double ep1x = (-a * cosTheta * sinEta1) - (b * sinTheta * cosEta1);
+        double ep1y = (-a * sinTheta * sinEta1) + (b * cosTheta * cosEta1);
+
+        double anglePerSegment = sweep / numSegments;
+        for (int i = 0; i < numSegments; i++) {
+            double eta2 = eta1 + anglePerSegment;
+            double sinEta2 = Math.sin(eta2);
+            double cosEta2 = Math.cos(eta2);
+            double e2x = cx + (a * cosTheta * cosEta2) - (b * sinTheta * sinEta2);
+            double e2y = cy + (a * sinTheta * cosEta2) + (b * cosTheta * sinEta2);
+            double ep2x = -a * cosTheta * sinEta2 - b * sinTheta * cosEta2;
+            double ep2y = -a * sinTheta * sinEta2 + b * cosTheta * cosEta2;
+            double alpha = 4 * Math.tan((eta2 - eta1) / 4) / 3;
+            double q1x = e1x + alpha * ep1x;
+            double q1y = e1y + alpha * ep1y;
+            double q2x = e2x - alpha * ep2x;
+            double q2y = e2y - alpha * ep2y;
+            mBuilder.cubicTo((float) q1x, (float) q1y, (float) q2x, (float) q2y, (float) e2x,
+                    (float) e2y);
+            eta1 = eta2;
+            e1x = e2x;
+            e1y = e2y;
+            ep1x = ep2x;
+            ep1y = ep2y;
+        }
+    }
+
+    /**
+     * @return the fewest curves which are in the tolerance. The max distance of a curve from a
+     * circular arc of the angle a is r * 2 / 27 * sin(a / 4)^6 / cos(a / 4)^2.
+     */
+    private int getArcSegmentCount(double radius, double sweep) {
+        if (mArcTolerance <= 0) {
+            // Maximum of 45 degrees per cubic Bezier segment
+            return (int) Math.ceil(sweep * 4 / Math.PI);
+        }
+        if (sweep == 0) {
+            return 0;
+        }
+        int numSegments = 1;
+        while (numSegments < MAX_ARC_SEGMENTS) {
+            double quarter = sweep / numSegments / 4;
+            double sin = Math.sin(quarter);
+            double cos = Math.cos(quarter);
+            if (cos > 0 && radius * 2 / 27 * Math.pow(sin, 6) / (cos * cos) <= mArcTolerance) {
+                break;
+            }
+            numSegments++;
+        }
+        return numSegments;
+    }
+
+}
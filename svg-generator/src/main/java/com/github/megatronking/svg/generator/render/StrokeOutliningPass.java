@@ -0,0 +1,84 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Path;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Convert the strokes into filled outlines at build time, so the platform stroker is not run on
+ * every frame. The outline is made by java.awt.BasicStroke with the same join, cap and miter
+ * limit. It should run after {@link TransformBakingPass}, the stroke width is scaled already.
+ */
+
+public class StrokeOutliningPass implements IVectorPass {
+
+    private float mTolerance;
+
+    /**
+     * @param tolerance The max error of the outlines, relative to the larger side of the viewport.
+     */
+    public StrokeOutliningPass(float tolerance) {
+        if (tolerance <= 0) {
+            throw new IllegalArgumentException("The tolerance must be positive: " + tolerance);
+        }
+        mTolerance = tolerance;
+    }
+
+    @Override
+    public void apply(Vector vector) {
+        float viewportSize = Math.max(vector.viewportWidth, vector.viewportHeight);
+        if (viewportSize <= 0) {
+            return;
+        }
+        // The stroker is accurate to about a unit, so stroke in the units of the tolerance.
+        outlineChildren(vector.children, 1 / (mTolerance * viewportSize));
+    }
+
+    private void outlineChildren(List<Object> children, float scale) {
+        ListIterator<Object> iterator = children.listIterator();
+        while (iterator.hasNext()) {
+            Object child = iterator.next();
+            if (child instanceof Group) {
+                outlineChildren(((Group) child).children, scale);
+            } else if (child instanceof Path && !(child instanceof ClipPath)) {
+                Path path = (Path) child;
+                // a zero width means a hairline
+                if (path.strokeColor == 0 || path.strokeWidth <= 0 || path.pathData == null
+                        || path.pathData.isEmpty()) {
+                    continue;
+                }
+                Path outline = createOutline(path, scale);
+                if (path.fillColor == 0) {
+                    iterator.set(outline);
+                } else {
+                    path.strokeColor = 0;
+                    iterator.add(outline);
+                }
+            }
+        }
+    }
+
+    private Path createOutline(Path path, float scale) {
+        Path2D.Float source = Path2DConverter.toPath2D(path.pathData, false, 1 / scale);
+        source.transform(AffineTransform.getScaleInstance(scale, scale));
+        Shape shape = Path2DConverter.createStroke(path, path.strokeWidth * scale).createStrokedShape(source);
+
+        Path outline = new Path(path.parentGroup);
+        outline.name = path.name;
+        outline.pathData = Path2DConverter.toPathData(shape.getPathIterator(AffineTransform.getScaleInstance(1 / scale,
+                1 / scale)));
+        outline.fillColor = path.strokeColor;
+        outline.fillAlpha = path.strokeAlpha;
+        outline.fillType = "nonZero";
+        outline.trimPathEnd = 1.0f;
+        return outline;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.utils.Matrix;
+import com.github.megatronking.svg.generator.utils.PathData;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Path;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Multiply the stacked matrix of the groups into the coordinates of their paths, and scale the
+ * stroke width in the same way. All the groups are identity after this pass, so nothing but the
+ * viewport scale is left to the runtime.
+ */
+
+public class TransformBakingPass implements IVectorPass {
+
+    @Override
+    public void apply(Vector vector) {
+        List<Group> groups = new ArrayList<>();
+        bakeChildren(vector.children, groups);
+        // The matrices are read from the groups above, so they are reset at last.
+        for (Group group : groups) {
+            group.pivotX = 0;
+            group.pivotY = 0;
+            group.scaleX = 1.0f;
+            group.scaleY = 1.0f;
+            group.rotation = 0;
+            group.translateX = 0;
+            group.translateY = 0;
+        }
+    }
+
+    private void bakeChildren(List<Object> children, List<Group> groups) {
+        Iterator<Object> iterator = children.iterator();
+        while (iterator.hasNext()) {
+            Object child = iterator.next();
+            if (child instanceof Path) {
+                if (!bakePath((Path) child)) {
+                    iterator.remove();
+                }
+            } else if (child instanceof Group) {
+                groups.add((Group) child);
+                bakeChildren(((Group) child).children, groups);
+            }
+        }
+    }
+
+    /**
+     * @return false if the path is scaled to nothing.
+     */
+    private boolean bakePath(Path path) {
+        Matrix groupStackedMatrix = path.parentGroup.getMatrix();
+        float matrixScale = getMatrixScale(groupStackedMatrix);
+        if (matrixScale == 0) {
+            return false;
+        }
+        float[] values = new float[9];
+        groupStackedMatrix.getValues(values);
+        if (path.pathData != null) {
+            // The path data may be shared with the svg model, so transform a copy.
+            PathData pathData = new PathData(path.pathData);
+            pathData.transform(values[Matrix.MSCALE_X], values[Matrix.MSKEW_Y], values[Matrix.MSKEW_X],
+                    values[Matrix.MSCALE_Y], values[Matrix.MTRANS_X], values[Matrix.MTRANS_Y]);
+            path.pathData = pathData;
+        }
+        path.strokeWidth *= matrixScale;
+        return true;
+    }
+
+    private float getMatrixScale(Matrix groupStackedMatrix) {
+        // Given unit vectors A = (0, 1) and B = (1, 0).
+        // After matrix mapping, we got A' and B'. Let theta = the angel b/t A' and B'.
+        // Therefore, the final scale we want is min(|A'| * sin(theta), |B'| * sin(theta)),
+        // which is (|A'| * |B'| * sin(theta)) / max (|A'|, |B'|);
+        // If  max (|A'|, |B'|) = 0, that means either x or y has a scale of 0.
+        //
+        // For non-skew case, which is most of the cases, matrix scale is computing exactly the
+        // scale on x and y axis, and take the minimal of these two.
+        // For skew case, an unit square will mapped to a parallelogram. And this function will
+        // return the minimal height of the 2 bases.
+        float[] unitVectors = new float[]{0, 1, 1, 0};
+        groupStackedMatrix.mapVectors(unitVectors);
+        float scaleX = (float) Math.hypot(unitVectors[0], unitVectors[1]);
+        float scaleY = (float) Math.hypot(unitVectors[2], unitVectors[3]);
+        float crossProduct = cross(unitVectors[0], unitVectors[1], unitVectors[2],
+                unitVectors[3]);
+        float maxScale = Math.max(scaleX, scaleY);
+
+        float matrixScale = 0;
+        if (maxScale > 0) {
+            matrixScale = Math.abs(crossProduct) / maxScale;
+        }
+        return matrixScale;
+    }
+
+    private float cross(float v1x, float v1y, float v2x, float v2y) {
+        return v1x * v2y - v1y * v2x;
+    }
+
+}
@@ -0,0 +1,321 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.utils.FloatArray;
+import com.github.megatronking.svg.generator.utils.PathData;
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Path;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Cut the trimmed segment out of the path data at build time, the same as what
+ * android.graphics.PathMeasure does at runtime: only the first contour which has a length is
+ * measured, and the segment wraps around if the start is behind the end. It should run before
+ * {@link TransformBakingPass}, the trim is measured in the coordinates of the path.
+ */
+
+public class TrimBakingPass implements IVectorPass {
+
+    // The curve is flattened until its control polygon is this close to its chord.
+    private static final float TOLERANCE = 0.0001f;
+    private static final int MAX_DEPTH = 10;
+
+    @Override
+    public void apply(Vector vector) {
+        bakeChildren(vector.children);
+    }
+
+    private void bakeChildren(List<Object> children) {
+        Iterator<Object> iterator = children.iterator();
+        while (iterator.hasNext()) {
+            Object child = iterator.next();
+            if (child instanceof Path) {
+                if (!bakePath((Path) child)) {
+                    iterator.remove();
+                }
+            } else if (child instanceof Group) {
+                bakeChildren(((Group) child).children);
+            }
+        }
+    }
+
+    /**
+     * @return false if nothing is left after trimming.
+     */
+    private boolean bakePath(Path path) {
+        if (path instanceof ClipPath || (path.trimPathStart == 0.0f && path.trimPathEnd == 1.0f)) {
+            return true;
+        }
+        float start = (path.trimPathStart + path.trimPathOffset) % 1.0f;
+        float end = (path.trimPathEnd + path.trimPathOffset) % 1.0f;
+        path.trimPathStart = 0.0f;
+        path.trimPathEnd = 1.0f;
+        path.trimPathOffset = 0.0f;
+        if (path.pathData == null) {
+            return false;
+        }
+        ContourBuilder contour = new ContourBuilder();
+        new PathDataExpander(contour).expand(path.pathData);
+        PathData trimmed = new PathData();
+        float length = contour.mLength;
+        if (start > end) {
+            contour.getSegment(start * length, length, trimmed);
+            contour.getSegment(0.0f, end * length, trimmed);
+        } else {
+            contour.getSegment(start * length, end * length, trimmed);
+        }
+        path.pathData = trimmed;
+        return !trimmed.isEmpty();
+    }
+
+    /**
+     * Collect the segments of the first contour which has a length, the points of a segment are
+     * absolute and start with the end point of the previous one.
+     */
+    private static class ContourBuilder implements IPathBuilder {
+
+        private List<Segment> mSegments = new ArrayList<>();
+        private float mLength;
+        private boolean isClosed;
+        private boolean isMeasured;
+
+        private float mCurrentX;
+        private float mCurrentY;
+        private float mStartX;
+        private float mStartY;
+
+        @Override
+        public void moveTo(float x, float y) {
+            if (!endContour()) {
+                return;
+            }
+            mStartX = mCurrentX = x;
+            mStartY = mCurrentY = y;
+        }
+
+        @Override
+        public void rMoveTo(float dx, float dy) {
+            moveTo(mCurrentX + dx, mCurrentY + dy);
+        }
+
+        @Override
+        public void lineTo(float x, float y) {
+            addSegment(x, y);
+        }
+
+        @Override
+        public void rLineTo(float dx, float dy) {
+            lineTo(mCurrentX + dx, mCurrentY + dy);
+        }
+
+        @Override
+        public void quadTo(float x1, float y1, float x2, float y2) {
+            addSegment(x1, y1, x2, y2);
+        }
+
+        @Override
+        public void rQuadTo(float dx1, float dy1, float dx2, float dy2) {
+            quadTo(mCurrentX + dx1, mCurrentY + dy1, mCurrentX + dx2, mCurrentY + dy2);
+        }
+
+        @Override
+        public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+            addSegment(x1, y1, x2, y2, x3, y3);
+        }
+
+        @Override
+        public void rCubicTo(float dx1, float dy1, float dx2, float dy2, float dx3, float dy3) {
+            cubicTo(mCurrentX + dx1, mCurrentY + dy1, mCurrentX + dx2, mCurrentY + dy2,
+                    mCurrentX + dx3, mCurrentY + dy3);
+        }
+
+        @Override
+        public void close() {
+            if (isMeasured || isClosed) {
+                return;
+            }
+            addSegment(mStartX, mStartY);
+            isClosed = true;
+        }
+
+        /**
+         * @return true if the next contour should be collected.
+         */
+        private boolean endContour() {
+            if (mLength > 0) {
+                isMeasured = true;
+            }
+            if (isMeasured) {
+                return false;
+            }
+            mSegments.clear();
+            isClosed = false;
+            return true;
+        }
+
+        private void addSegment(float... points) {
+            // A drawing command after closing starts a new contour from the same point.
+            if (isClosed && !endContour()) {
+                return;
+            }
+            if (isMeasured) {
+                return;
+            }
+            float[] segmentPoints = new float[points.length + 2];
+            segmentPoints[0] = mCurrentX;
+            segmentPoints[1] = mCurrentY;
+            System.arraycopy(points, 0, segmentPoints, 2, points.length);
+            mCurrentX = points[points.length - 2];
+            mCurrentY = points[points.length - 1];
+            Segment segment = new Segment(segmentPoints, mLength);
+            // The zero length segments are skipped by the measure.
+            if (segment.mEndDistance > mLength) {
+                mSegments.add(segment);
+                mLength = segment.mEndDistance;
+            }
+        }
+
+        private void getSegment(float startD, float stopD, PathData out) {
+            if (startD < 0) {
+                startD = 0;
+            }
+            if (stopD > mLength) {
+                stopD = mLength;
+            }
+            if (startD >= stopD) {
+                return;
+            }
+            int startIndex = 0;
+            while (mSegments.get(startIndex).mEndDistance <= startD) {
+                startIndex++;
+            }
+            int stopIndex = startIndex;
+            while (stopIndex < mSegments.size() - 1 && mSegments.get(stopIndex).mEndDistance < stopD) {
+                stopIndex++;
+            }
+            Segment startSegment = mSegments.get(startIndex);
+            Segment stopSegment = mSegments.get(stopIndex);
+            float startT = startSegment.getT(startD);
+            float stopT = stopSegment.getT(stopD);
+            float[] points;
+            if (startIndex == stopIndex) {
+                points = subdivide(startSegment.mPoints, startT, stopT);
+            } else {
+                points = subdivide(startSegment.mPoints, startT, 1.0f);
+            }
+            out.addCommand('M', points, 0, 2);
+            addPoints(points, out);
+            if (startIndex != stopIndex) {
+                for (int i = startIndex + 1; i < stopIndex; i++) {
+                    addPoints(mSegments.get(i).mPoints, out);
+                }
+                addPoints(subdivide(stopSegment.mPoints, 0.0f, stopT), out);
+            }
+        }
+
+        private void addPoints(float[] points, PathData out) {
+            char command = points.length == 4 ? 'L' : (points.length == 6 ? 'Q' : 'C');
+            out.addCommand(command, points, 2, points.length - 2);
+        }
+
+    }
+
+    /**
+     * A line, quadratic or cubic curve, with a table mapping the distance to the parameter t.
+     */
+    private static class Segment {
+
+        private float[] mPoints;
+        private float mEndDistance;
+        // the pairs of t and the distance from the start of the contour
+        private FloatArray mTable = new FloatArray();
+
+        private Segment(float[] points, float startDistance) {
+            mPoints = points;
+            mTable.add(0.0f);
+            mTable.add(startDistance);
+            mEndDistance = measure(points, 0.0f, 1.0f, startDistance, 0);
+        }
+
+        /**
+         * @return the distance at the end of the sub curve.
+         */
+        private float measure(float[] points, float startT, float stopT, float distance, int depth) {
+            float chord = distance(points, 0, points.length - 2);
+            float polygon = 0;
+            for (int i = 0; i < points.length - 2; i += 2) {
+                polygon += distance(points, i, i + 2);
+            }
+            if (points.length == 4 || depth >= MAX_DEPTH || polygon - chord <= polygon * TOLERANCE) {
+                distance += chord;
+                mTable.add(stopT);
+                mTable.add(distance);
+                return distance;
+            }
+            float middleT = (startT + stopT) / 2;
+            distance = measure(split(points, 0.5f, true), startT, middleT, distance, depth + 1);
+            return measure(split(points, 0.5f, false), middleT, stopT, distance, depth + 1);
+        }
+
+        private float getT(float distance) {
+            int i = 3;
+            while (i < mTable.size() - 2 && mTable.get(i) < distance) {
+                i += 2;
+            }
+            float t0 = mTable.get(i - 3);
+            float d0 = mTable.get(i - 2);
+            float t1 = mTable.get(i - 1);
+            float d1 = mTable.get(i);
+            if (d1 <= d0) {
+                return t1;
+            }
+            return Math.max(0.0f, Math.min(1.0f, t0 + (t1 - t0) * (distance - d0) / (d1 - d0)));
+        }
+
+        private static float distance(float[] points, int from, int to) {
+            float dx = points[to] - points[from];
+            float dy = points[to + 1] - points[from + 1];
+            return (float) Math.sqrt(dx * dx + dy * dy);
+        }
+
+    }
+
+    /**
+     * @return the control points of the curve between t0 and t1.
+     */
+    private static float[] subdivide(float[] points, float t0, float t1) {
+        float[] result = t1 < 1.0f ? split(points, t1, true) : points;
+        if (t0 > 0.0f) {
+            result = split(result, t1 > 0.0f ? t0 / t1 : 0.0f, false);
+        }
+        return result;
+    }
+
+    /**
+     * Split the curve at t by the de Casteljau's algorithm.
+     *
+     * @return the control points of the left part, or the right part.
+     */
+    private static float[] split(float[] points, float t, boolean left) {
+        int count = points.length / 2;
+        float[] work = points.clone();
+        float[] result = new float[points.length];
+        for (int level = 0; level < count; level++) {
+            int levelCount = count - level;
+            int index = left ? level : count - 1 - level;
+            int workIndex = left ? 0 : levelCount - 1;
+            result[index * 2] = work[workIndex * 2];
+            result[index * 2 + 1] = work[workIndex * 2 + 1];
+            for (int i = 0; i < levelCount - 1; i++) {
+                work[i * 2] += (work[i * 2 + 2] - work[i * 2]) * t;
+                work[i * 2 + 1] += (work[i * 2 + 3] - work[i * 2 + 1]) * t;
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,256 @@
+package com.github.megatronking.svg.generator.render;
+
+import com.github.megatronking.svg.generator.utils.FloatArray;
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Path;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Render the vector into an opcode table and a coordinate table, which are replayed by the
+ * SVGInterpreter of svg-support. The generated class carries only the data, no drawing code.
+ */
+
+public class VectorDataRenderer implements IVectorRenderer<Vector> {
+
+    // The opcodes must be the same as SVGInterpreter's.
+    private static final char OP_BEGIN = 'B';
+    private static final char OP_MOVE_TO = 'M';
+    private static final char OP_R_MOVE_TO = 'm';
+    private static final char OP_LINE_TO = 'L';
+    private static final char OP_R_LINE_TO = 'l';
+    private static final char OP_QUAD_TO = 'Q';
+    private static final char OP_R_QUAD_TO = 'q';
+    private static final char OP_CUBIC_TO = 'C';
+    private static final char OP_R_CUBIC_TO = 'c';
+    private static final char OP_CLOSE = 'Z';
+    private static final char OP_END = 'X';
+    private static final char OP_EVEN_ODD = 'E';
+    private static final char OP_FILL = 'F';
+    private static final char OP_STROKE = 'S';
+    private static final char OP_CLIP = 'K';
+    private static final char OP_SAVE = '(';
+    private static final char OP_RESTORE = ')';
+
+    private static final char KEEP = '-';
+
+    private StringBuilder mOps;
+    private FloatArray mCoords;
+
+    private PathDataExpander mPathDataExpander;
+
+    private List<IVectorPass> mPasses;
+
+    private float mArcTolerance = PathDataExpander.DEFAULT_ARC_TOLERANCE;
+    private int mMonochromeColor;
+
+    public VectorDataRenderer() {
+        mOps = new StringBuilder();
+        mCoords = new FloatArray();
+        mPathDataExpander = new PathDataExpander(new DataPathBuilder());
+        mPasses = new ArrayList<>();
+        mPasses.add(new TrimBakingPass());
+        mPasses.add(new TransformBakingPass());
+        mPasses.add(new PathBatchingPass());
+    }
+
+    /**
+     * Add an optional pass, which runs after the trims and the transforms are baked and before the
+     * paths are batched. The optional passes run in the order they are added, so
+     * {@link OcclusionCullingPass} should be the last one.
+     */
+    public void addPass(IVectorPass pass) {
+        mPasses.add(mPasses.size() - 1, pass);
+    }
+
+    /**
+     * @param arcTolerance The max distance of the curves from the arcs, relative to the larger side
+     *                     of the viewport. 0 to split the arcs into the curves of 45 degrees.
+     */
+    public void setArcTolerance(float arcTolerance) {
+        mArcTolerance = arcTolerance;
+    }
+
+    @Override
+    public void render(Vector vector) {
+        for (IVectorPass pass : mPasses) {
+            pass.apply(vector);
+        }
+        mMonochromeColor = MonochromeDetector.getColor(vector);
+        mPathDataExpander.setArcTolerance(mArcTolerance * Math.max(vector.viewportWidth, vector.viewportHeight));
+        mCoords.add(vector.viewportWidth);
+        mCoords.add(vector.viewportHeight);
+        renderChildren(vector.children);
+    }
+
+    /**
+     * The clip paths are scoped by the group, the canvas is saved before the first one.
+     */
+    private void renderChildren(List<Object> children) {
+        boolean isClipped = false;
+        for (Object child : children) {
+            if (child instanceof Path) {
+                if (child instanceof ClipPath && !isClipped) {
+                    isClipped = true;
+                    mOps.append(OP_SAVE);
+                }
+                renderPath((Path) child);
+            } else if (child instanceof Group) {
+                renderChildren(((Group) child).children);
+            }
+        }
+        if (isClipped) {
+            mOps.append(OP_RESTORE);
+        }
+    }
+
+    private void renderPath(Path path) {
+        // no fill color and stroke color, no content to draw
+        if (!(path instanceof ClipPath) && path.fillColor == 0 && path.strokeColor == 0) {
+            return;
+        }
+        mOps.append(OP_BEGIN);
+        if (path.pathData != null) {
+            mPathDataExpander.expand(path.pathData);
+        }
+        if (path instanceof ClipPath) {
+            mOps.append(OP_END);
+            mOps.append(OP_CLIP);
+            return;
+        }
+        mOps.append(OP_END);
+        if ("evenOdd".equals(path.fillType)) {
+            mOps.append(OP_EVEN_ODD);
+        }
+        if (path.fillColor != 0) {
+            mOps.append(OP_FILL);
+            appendColor(applyAlpha(path.fillColor, path.fillAlpha));
+        }
+        if (path.strokeColor != 0) {
+            mOps.append(OP_STROKE);
+            appendColor(applyAlpha(path.strokeColor, path.strokeAlpha));
+            mOps.append(getStrokeCap(path.strokeLineCap));
+            mOps.append(getStrokeJoin(path.strokeLineJoin));
+            mCoords.add(path.strokeMiterLimit);
+            mCoords.add(path.strokeWidth);
+        }
+    }
+
+    private void appendColor(int color) {
+        mOps.append((char) (color >>> 16));
+        mOps.append((char) color);
+    }
+
+    /**
+     * The same as SVGRenderer.applyAlpha, but done at the build time.
+     */
+    private int applyAlpha(int color, float alpha) {
+        int alphaBytes = color >>> 24;
+        color &= 0x00FFFFFF;
+        color |= ((int) (alphaBytes * alpha)) << 24;
+        return color;
+    }
+
+    private char getStrokeCap(String strokeLineCap) {
+        if ("butt".equals(strokeLineCap)) {
+            return 'b';
+        } else if ("round".equals(strokeLineCap)) {
+            return 'r';
+        } else if ("square".equals(strokeLineCap)) {
+            return 's';
+        }
+        return KEEP;
+    }
+
+    private char getStrokeJoin(String strokeLineJoin) {
+        if ("miter".equals(strokeLineJoin)) {
+            return 'm';
+        } else if ("round".equals(strokeLineJoin)) {
+            return 'r';
+        } else if ("bevel".equals(strokeLineJoin)) {
+            return 'b';
+        }
+        return KEEP;
+    }
+
+    /**
+     * @return The opcodes, the colors and stroke styles are inlined as chars.
+     */
+    public String getOps() {
+        return mOps.toString();
+    }
+
+    /**
+     * @return The coordinates, starting with the viewport width and height.
+     */
+    public float[] getCoords() {
+        return mCoords.toArray();
+    }
+
+    /**
+     * @return the single color of the rendered vector, 0 if it has several colors.
+     */
+    public int getMonochromeColor() {
+        return mMonochromeColor;
+    }
+
+    private class DataPathBuilder implements IPathBuilder {
+
+        @Override
+        public void moveTo(float x, float y) {
+            add(OP_MOVE_TO, x, y);
+        }
+
+        @Override
+        public void rMoveTo(float dx, float dy) {
+            add(OP_R_MOVE_TO, dx, dy);
+        }
+
+        @Override
+        public void lineTo(float x, float y) {
+            add(OP_LINE_TO, x, y);
+        }
+
+        @Override
+        public void rLineTo(float dx, float dy) {
+            add(OP_R_LINE_TO, dx, dy);
+        }
+
+        @Override
+        public void quadTo(float x1, float y1, float x2, float y2) {
+            add(OP_QUAD_TO, x1, y1, x2, y2);
+        }
+
+        @Override
+        public void rQuadTo(float dx1, float dy1, float dx2, float dy2) {
+            add(OP_R_QUAD_TO, dx1, dy1, dx2, dy2);
+        }
+
+        @Override
+        public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+            add(OP_CUBIC_TO, x1, y1, x2, y2, x3, y3);
+        }
+
+        @Override
+        public void rCubicTo(float dx1, float dy1, float dx2, float dy2, float dx3, float dy3) {
+            add(OP_R_CUBIC_TO, dx1, dy1, dx2, dy2, dx3, dy3);
+        }
+
+        @Override
+        public void close() {
+            mOps.append(OP_CLOSE);
+        }
+
+        private void add(char op, float... coords) {
+            mOps.append(op);
+            for (float coord : coords) {
+                mCoords.add(coord);
+            }
+        }
+
+    }
+
+}
@@ -1,43 +1,110 @@
 package com.github.megatronking.svg.generator.render;
 
 
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
 import com.github.megatronking.svg.generator.vector.model.Group;
 import com.github.megatronking.svg.generator.vector.model.Path;
 import com.github.megatronking.svg.generator.vector.model.Vector;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class VectorRenderer implements IVectorRenderer<Vector>, NotifyVectorRenderer.VectorRendererListener {
 
     private VectorRootRenderer mRootRenderer;
     private VectorPathRenderer mPathRenderer;
 
+    private List<IVectorPass> mPasses;
+
     private StringBuilder mRenderResult;
+    private StringBuilder mCacheResult;
+
+    private boolean mCacheGeometry;
+
+    private float mArcTolerance = PathDataExpander.DEFAULT_ARC_TOLERANCE;
+    private int mMonochromeColor;
 
     public VectorRenderer() {
+        this(false);
+    }
+
+    /**
+     * @param cacheGeometry Build every path once into its own pre-scaled path, the paths are cached
+     *                      by the size and the render method only draws them.
+     */
+    public VectorRenderer(boolean cacheGeometry) {
+        mCacheGeometry = cacheGeometry;
+
         mRootRenderer = new VectorRootRenderer();
         mRootRenderer.setVectorRendererListener(this);
 
-        mPathRenderer = new VectorPathRenderer();
+        mPathRenderer = new VectorPathRenderer(cacheGeometry);
         mPathRenderer.setVectorRendererListener(this);
 
+        mPasses = new ArrayList<>();
+        mPasses.add(new TrimBakingPass());
+        mPasses.add(new TransformBakingPass());
+        mPasses.add(new PathBatchingPass());
+
         mRenderResult = new StringBuilder();
+        mCacheResult = new StringBuilder();
+    }
+
+    /**
+     * Add an optional pass, which runs after the trims and the transforms are baked and before the
+     * paths are batched. The optional passes run in the order they are added, so
+     * {@link OcclusionCullingPass} should be the last one.
+     */
+    public void addPass(IVectorPass pass) {
+        mPasses.add(mPasses.size() - 1, pass);
+    }
+
+    /**
+     * @param arcTolerance The max distance of the curves from the arcs, relative to the larger side
+     *                     of the viewport. 0 to split the arcs into the curves of 45 degrees.
+     */
+    public void setArcTolerance(float arcTolerance) {
+        mArcTolerance = arcTolerance;
     }
 
     @Override
     public void render(Vector vector) {
+        for (IVectorPass pass : mPasses) {
+            pass.apply(vector);
+        }
+        mMonochromeColor = MonochromeDetector.getColor(vector);
+        mPathRenderer.setArcTolerance(mArcTolerance * Math.max(vector.viewportWidth, vector.viewportHeight));
         mRootRenderer.render(vector);
-        for (Object child : vector.children) {
-            renderChild(child);
+        int rootEnd = mRenderResult.length();
+        renderChildren(vector.children);
+        if (mCacheGeometry) {
+            // The count of cached paths is known after all the paths are rendered.
+            mRenderResult.insert(rootEnd, HEAD_SPACE + HEAD_SPACE + "if (prepareCachedPaths(w, h, "
+                    + mPathRenderer.getCachedPathCount() + ")) {\n"
+                    + HEAD_SPACE + HEAD_SPACE + HEAD_SPACE + "buildCachedPaths(scaleX, scaleY);\n"
+                    + HEAD_SPACE + HEAD_SPACE + "}\n");
         }
     }
 
-    private void renderChild(Object object) {
-        if (object instanceof Path) {
-            mPathRenderer.render((Path) object);
-        } else if(object instanceof Group) {
-            for (Object child : ((Group)object).children) {
-                renderChild(child);
+    /**
+     * The clip paths are scoped by the group, the canvas is saved before the first one.
+     */
+    private void renderChildren(List<Object> children) {
+        boolean isClipped = false;
+        for (Object child : children) {
+            if (child instanceof Path) {
+                if (child instanceof ClipPath && !isClipped) {
+                    isClipped = true;
+                    mPathRenderer.saveCanvas();
+                }
+                mPathRenderer.render((Path) child);
+            } else if (child instanceof Group) {
+                renderChildren(((Group) child).children);
             }
         }
+        if (isClipped) {
+            mPathRenderer.restoreCanvas();
+        }
     }
 
     @Override
@@ -45,8 +112,31 @@ public class VectorRenderer implements IVectorRenderer<Vector>, NotifyVectorRend
         mRenderResult.append(result);
     }
 
+    @Override
+    public void receiveCacheResult(String result) {
+        mCacheResult.append(result);
+    }
+
     public String renderResult() {
         return mRenderResult.toString();
     }
 
+    /**
+     * @return The code which builds the cached paths, empty if the geometry is not cached.
+     */
+    public String cacheResult() {
+        return mCacheResult.toString();
+    }
+
+    public boolean isGeometryCached() {
+        return mCacheGeometry;
+    }
+
+    /**
+     * @return the single color of the rendered vector, 0 if it has several colors.
+     */
+    public int getMonochromeColor() {
+        return mMonochromeColor;
+    }
+
 }
@@ -0,0 +1,83 @@
+package com.github.megatronking.svg.generator.svg;
+
+import com.github.megatronking.svg.generator.render.PathDataExpander;
+
+/**
+ * The options used by the batch conversion of {@link Svg2Vector}.
+ */
+
+public class ConversionOptions {
+
+    /**
+     * The width of VectorDrawable's XML, such as 'android:width=18dip', 0 to use the svg's.
+     */
+    public int width;
+
+    /**
+     * The height of VectorDrawable's XML, such as 'android:height=18dip', 0 to use the svg's.
+     */
+    public int height;
+
+    /**
+     * Parse the svg with a StAX reader, or read the whole dom4j document first.
+     */
+    public boolean streaming = true;
+
+    /**
+     * Generate the java source of SVGRenderer in this package instead of the vector xml, the
+     * outputs should be java files then. Null to generate the vector xml.
+     */
+    public String rendererPackage;
+
+    /**
+     * Resolve where to keep the vector xml for debugging when generating the renderers, null to
+     * skip writing it.
+     */
+    public IOutputResolver vectorResolver;
+
+    /**
+     * Build the paths of the renderers once and cache them by the size, so that the repeated frames
+     * only draw the paths.
+     */
+    public boolean cacheGeometry;
+
+    /**
+     * Generate the renderers as an opcode table and a coordinate table, which are replayed by the
+     * SVGInterpreter of svg-support instead of the generated drawing code. The geometry is not
+     * cached in this way.
+     */
+    public boolean dataRenderer;
+
+    /**
+     * Outline the strokes into fills at build time with this tolerance, which is relative to the
+     * larger side of the viewport, such as 0.001. 0 to keep the strokes.
+     */
+    public float strokeTolerance;
+
+    /**
+     * Split the arcs into the fewest curves within this tolerance, which is relative to the larger
+     * side of the viewport. 0 to split them into the curves of 45 degrees.
+     */
+    public float arcTolerance = PathDataExpander.DEFAULT_ARC_TOLERANCE;
+
+    /**
+     * Drop the paths which are fully covered by the opaque paths drawn later. The renderers should
+     * not be tinted with a translucent color then.
+     */
+    public boolean cullOccludedPaths;
+
+    /**
+     * Also union the adjacent opaque fills of the same color while culling, which changes the
+     * antialiased edges between them.
+     */
+    public boolean mergeFills;
+
+    public ConversionOptions() {
+    }
+
+    public ConversionOptions(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.github.megatronking.svg.generator.svg;
+
+import java.io.File;
+
+/**
+ * The result of converting one SVG file in a batch.
+ */
+
+public class ConversionResult {
+
+    private File mInput;
+    private File mOutput;
+    private String mError;
+    private long mTimeNanos;
+
+    public ConversionResult(File input, File output, String error, long timeNanos) {
+        this.mInput = input;
+        this.mOutput = output;
+        this.mError = error;
+        this.mTimeNanos = timeNanos;
+    }
+
+    public File getInput() {
+        return mInput;
+    }
+
+    /**
+     * @return The output vector or renderer file, null if the input was skipped.
+     */
+    public File getOutput() {
+        return mOutput;
+    }
+
+    /**
+     * @return The error messages, null if the conversion succeeded.
+     */
+    public String getError() {
+        return mError;
+    }
+
+    public boolean isSuccessful() {
+        return mError == null;
+    }
+
+    /**
+     * @return The time spent to convert this file, in nanoseconds.
+     */
+    public long getTimeNanos() {
+        return mTimeNanos;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.github.megatronking.svg.generator.svg;
+
+import java.io.File;
+
+/**
+ * Resolve where the VectorDrawable's XML of a SVG file should be written to.
+ */
+
+public interface IOutputResolver {
+
+    /**
+     * @param inputSVG The input SVG file.
+     * @return The output vector file, or null if the input should be skipped.
+     */
+    File resolve(File inputSVG);
+
+}
@@ -1,17 +1,35 @@
 package com.github.megatronking.svg.generator.svg;
 
+import com.github.megatronking.svg.generator.render.OcclusionCullingPass;
+import com.github.megatronking.svg.generator.render.StrokeOutliningPass;
+import com.github.megatronking.svg.generator.render.VectorDataRenderer;
+import com.github.megatronking.svg.generator.render.VectorRenderer;
 import com.github.megatronking.svg.generator.svg.model.Svg;
+import com.github.megatronking.svg.generator.utils.FileUtils;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+import com.github.megatronking.svg.generator.writer.JavaClassWriter;
+import com.github.megatronking.svg.generator.writer.impl.SVGDataRendererTemplateWriter;
+import com.github.megatronking.svg.generator.writer.impl.SVGRendererTemplateWriter;
 import com.github.megatronking.svg.generator.writer.impl.Svg2VectorTemplateWriter;
-
-import org.dom4j.DocumentException;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Converts SVG to VectorDrawable's XML.
@@ -53,7 +71,7 @@ public class Svg2Vector {
             Svg2VectorTemplateWriter writer = new Svg2VectorTemplateWriter(svg);
             BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(outputVector));
             writer.write(bufferedWriter);
-        } catch (IOException | DocumentException e) {
+        } catch (IOException | XmlParseException e) {
             return "Exception in parsing " + inputSVG.getName() + ":\n" + e.getMessage();
         }
         return null;
@@ -80,7 +98,7 @@ public class Svg2Vector {
             Svg2VectorTemplateWriter writer = new Svg2VectorTemplateWriter(svg);
             BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(outputStream));
             writer.write(bufferedWriter);
-        } catch (IOException | DocumentException e) {
+        } catch (IOException | XmlParseException e) {
             return "Exception in parsing " + inputSVG.getName() + ":\n" + e.getMessage();
         }
         return null;
@@ -104,10 +122,267 @@ public class Svg2Vector {
             Svg2VectorTemplateWriter writer = new Svg2VectorTemplateWriter(svg);
             BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(outputStream));
             writer.write(bufferedWriter);
-        } catch (IOException | DocumentException e) {
+        } catch (IOException | XmlParseException e) {
             return "Exception when parsing :\n" + e.getMessage();
         }
         return null;
     }
 
+    /**
+     * Convert a SVG file into the java source of SVGRenderer in one pass. The vector model is
+     * built from the svg tree in memory, so no VectorDrawable's XML is written or parsed again.
+     *
+     * @param inputSVG The input SVG file.
+     * @param outputJava The output java file, the renderer class is named after it.
+     * @param packageName The package of the renderer class.
+     * @param width The width of the vector, 0 to use the svg's.
+     * @param height The height of the vector, 0 to use the svg's.
+     * @return The error messages, null if there is no error.
+     */
+    public static String parseSvgToRenderer(File inputSVG, File outputJava, String packageName, int width, int height) {
+        ConversionOptions options = new ConversionOptions(width, height);
+        options.rendererPackage = packageName;
+        return parseSvgToRenderer(inputSVG, outputJava, options);
+    }
+
+    /**
+     * Convert a SVG file into the java source of SVGRenderer in one pass, the renderer class is in
+     * the package of {@link ConversionOptions#rendererPackage}.
+     */
+    public static String parseSvgToRenderer(File inputSVG, File outputJava, ConversionOptions options) {
+        // Check input params.
+        if (inputSVG == null || outputJava == null) {
+            return "Invalid input params!";
+        }
+        if (!inputSVG.exists() || inputSVG.length() == 0 || inputSVG.isDirectory()) {
+            return "Invalid svg file: " + inputSVG.getName();
+        }
+
+        SvgSAXReader reader = new SvgSAXReader(options.streaming);
+        try {
+            Svg svg = reader.read(inputSVG);
+            if (options.width > 0) {
+                svg.w = options.width;
+            }
+            if (options.height > 0) {
+                svg.h = options.height;
+            }
+            writeRenderer(svg, FileUtils.noExtensionLastName(outputJava), options.rendererPackage, options,
+                    new BufferedWriter(new FileWriter(outputJava)));
+        } catch (IOException | XmlParseException e) {
+            return "Exception in parsing " + inputSVG.getName() + ":\n" + e.getMessage();
+        }
+        return null;
+    }
+
+    public static String parseSvgToRenderer(InputStream inputStream, OutputStream outputStream, String packageName,
+                                            String className, int width, int height) {
+        // Check input params.
+        if (inputStream == null || outputStream == null || className == null) {
+            return "Invalid input params!";
+        }
+
+        SvgSAXReader reader = new SvgSAXReader();
+        try {
+            Svg svg = reader.read(inputStream);
+            if (width > 0) {
+                svg.w = width;
+            }
+            if (height > 0) {
+                svg.h = height;
+            }
+            writeRenderer(svg, className, packageName, new ConversionOptions(),
+                    new BufferedWriter(new OutputStreamWriter(outputStream)));
+        } catch (IOException | XmlParseException e) {
+            return "Exception when parsing :\n" + e.getMessage();
+        }
+        return null;
+    }
+
+    private static void writeRenderer(Svg svg, String className, String packageName, ConversionOptions options,
+                                      BufferedWriter bw) throws IOException, SvgParseException {
+        Vector vector = svg.convert2Vector();
+        if (vector.children.isEmpty()) {
+            // The vector xml of it could not be assembled either.
+            bw.close();
+            throw new SvgParseException("There is no valid node in the svg");
+        }
+        JavaClassWriter writer;
+        if (options.dataRenderer) {
+            VectorDataRenderer renderer = new VectorDataRenderer();
+            renderer.setArcTolerance(options.arcTolerance);
+            if (options.strokeTolerance > 0) {
+                renderer.addPass(new StrokeOutliningPass(options.strokeTolerance));
+            }
+            if (options.cullOccludedPaths) {
+                renderer.addPass(new OcclusionCullingPass(options.mergeFills));
+            }
+            renderer.render(vector);
+            writer = new SVGDataRendererTemplateWriter(renderer, vector);
+        } else {
+            VectorRenderer renderer = new VectorRenderer(options.cacheGeometry);
+            renderer.setArcTolerance(options.arcTolerance);
+            if (options.strokeTolerance > 0) {
+                renderer.addPass(new StrokeOutliningPass(options.strokeTolerance));
+            }
+            if (options.cullOccludedPaths) {
+                renderer.addPass(new OcclusionCullingPass(options.mergeFills));
+            }
+            renderer.render(vector);
+            writer = new SVGRendererTemplateWriter(renderer, vector);
+        }
+        writer.setPackage(packageName);
+        writer.setClassSimpleName(className);
+        writer.write(bw);
+    }
+
+    /**
+     * Convert a batch of SVG files concurrently. Every worker thread has its own reader, so no
+     * parser state is shared between the conversions.
+     *
+     * @param inputs The input SVG files, '.svgz' files are unzipped while they are read.
+     * @param outputResolver Resolve the output vector file of each input, or the java file if
+     *                       the renderers are generated.
+     * @param options The conversion options, null to use the default ones.
+     * @param executor The executor runs the conversions, null to use a temporary work-stealing
+     *                 pool with a thread per processor.
+     * @return The results of each input, in the same order as the inputs.
+     * @throws InterruptedException The current thread is interrupted while waiting.
+     */
+    public static List<ConversionResult> convertAll(Collection<File> inputs, IOutputResolver outputResolver,
+                                                    ConversionOptions options, Executor executor)
+            throws InterruptedException {
+        final ConversionOptions conversionOptions = options == null ? new ConversionOptions() : options;
+        final ThreadLocal<SvgSAXReader> readers = new ThreadLocal<SvgSAXReader>() {
+            @Override
+            protected SvgSAXReader initialValue() {
+                return new SvgSAXReader(conversionOptions.streaming);
+            }
+        };
+        ForkJoinPool pool = null;
+        if (executor == null) {
+            pool = new ForkJoinPool();
+            executor = pool;
+        }
+        List<FutureTask<ConversionResult>> tasks = new ArrayList<>(inputs.size());
+        try {
+            for (final File input : inputs) {
+                final File output = outputResolver.resolve(input);
+                FutureTask<ConversionResult> task = new FutureTask<>(new Callable<ConversionResult>() {
+                    @Override
+                    public ConversionResult call() {
+                        return convert(readers.get(), input, output, conversionOptions);
+                    }
+                });
+                tasks.add(task);
+                executor.execute(task);
+            }
+            List<ConversionResult> results = new ArrayList<>(tasks.size());
+            for (FutureTask<ConversionResult> task : tasks) {
+                results.add(task.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            // The conversion catches all the exceptions, so this must be an error.
+            throw new RuntimeException(e.getCause());
+        } finally {
+            for (FutureTask<ConversionResult> task : tasks) {
+                task.cancel(false);
+            }
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static ConversionResult convert(SvgSAXReader reader, File inputSVG, File outputVector,
+                                            ConversionOptions options) {
+        long startTime = System.nanoTime();
+        String error = null;
+        if (outputVector != null) {
+            if (!inputSVG.exists() || inputSVG.length() == 0 || inputSVG.isDirectory()) {
+                error = "Invalid svg file: " + inputSVG.getName();
+            } else {
+                try {
+                    Svg svg = readSvg(reader, inputSVG, options.width, options.height);
+                    if (options.rendererPackage == null) {
+                        writeVector(svg, outputVector);
+                    } else {
+                        // The vector xml is only kept for debugging.
+                        if (options.vectorResolver != null) {
+                            File debugVector = options.vectorResolver.resolve(inputSVG);
+                            if (debugVector != null) {
+                                writeVector(svg, debugVector);
+                            }
+                        }
+                        mkdirs(outputVector.getParentFile());
+                        writeRenderer(svg, FileUtils.noExtensionLastName(outputVector), options.rendererPackage,
+                                options, new BufferedWriter(new FileWriter(outputVector)));
+                    }
+                } catch (IOException | XmlParseException | RuntimeException e) {
+                    error = "Exception in parsing " + inputSVG.getName() + ":\n" + e.getMessage();
+                }
+            }
+        }
+        return new ConversionResult(inputSVG, outputVector, error, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Read a SVG file into the vector model in memory, so the renderers or the pack can be built
+     * from it without writing and parsing VectorDrawable's XML.
+     *
+     * @param reader The reader of the current thread.
+     * @param inputSVG The input SVG file, '.svgz' files are unzipped while they are read.
+     * @param width The width of the vector, 0 to use the svg's.
+     * @param height The height of the vector, 0 to use the svg's.
+     * @param debugVector Also write VectorDrawable's XML into this file, null to skip it.
+     * @return The vector model, it has one node at least.
+     */
+    public static Vector parseSvgToVector(SvgSAXReader reader, File inputSVG, int width, int height,
+                                          File debugVector) throws IOException, XmlParseException {
+        Svg svg = readSvg(reader, inputSVG, width, height);
+        if (debugVector != null) {
+            writeVector(svg, debugVector);
+        }
+        Vector vector = svg.convert2Vector();
+        if (vector.children.isEmpty()) {
+            throw new SvgParseException("There is no valid node in the svg");
+        }
+        return vector;
+    }
+
+    private static Svg readSvg(SvgSAXReader reader, File inputSVG, int width, int height)
+            throws IOException, XmlParseException {
+        Svg svg;
+        if (inputSVG.getName().endsWith(".svgz")) {
+            InputStream is = new GZIPInputStream(new FileInputStream(inputSVG));
+            try {
+                svg = reader.read(is);
+            } finally {
+                is.close();
+            }
+        } else {
+            svg = reader.read(inputSVG);
+        }
+        if (width > 0) {
+            svg.w = width;
+        }
+        if (height > 0) {
+            svg.h = height;
+        }
+        return svg;
+    }
+
+    private static void writeVector(Svg svg, File outputVector) throws IOException {
+        mkdirs(outputVector.getParentFile());
+        Svg2VectorTemplateWriter writer = new Svg2VectorTemplateWriter(svg);
+        writer.write(new BufferedWriter(new FileWriter(outputVector)));
+    }
+
+    private static void mkdirs(File dir) throws IOException {
+        if (dir != null && !dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            throw new IOException("Can not create the directory " + dir);
+        }
+    }
+
 }
@@ -7,7 +7,7 @@
 
 package com.github.megatronking.svg.generator.svg;
 
-import org.dom4j.DocumentException;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Signals that an vector exception of some sort has occurred. This
@@ -17,7 +17,7 @@ import org.dom4j.DocumentException;
  * @author Megatron King
  * @since 2016/11/22 16:01
  */
-public class SvgParseException extends DocumentException {
+public class SvgParseException extends XmlParseException {
 
     /**
      * Constructs an {@code VectorException} with a default message
@@ -4,12 +4,8 @@ import com.github.megatronking.svg.generator.svg.model.Svg;
 import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.parser.SvgParserImpl;
 import com.github.megatronking.svg.generator.xml.SimpleImplementSAXReader;
-
-import org.dom4j.Document;
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-
-import java.util.List;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Read svg xml file to a {@link Svg} Object.
@@ -20,15 +16,21 @@ import java.util.List;
 
 public class SvgSAXReader extends SimpleImplementSAXReader<Svg> {
 
+    public SvgSAXReader() {
+        super();
+    }
+
+    public SvgSAXReader(boolean streaming) {
+        super(streaming);
+    }
+
     @Override
-    protected Svg parseDocument(Document document) throws DocumentException {
-        Element svgElement = document.getRootElement();
+    protected Svg parseRootElement(XmlElement svgElement) throws XmlParseException {
         // simple validate
         if (!SvgConstants.TAG_SVG.equals(svgElement.getName())) {
             throw new SvgParseException("The root element must be " + SvgConstants.TAG_SVG);
         }
-        List<?> childElements = svgElement.elements();
-        if (childElements == null || childElements.isEmpty()) {
+        if (!svgElement.elements().iterator().hasNext()) {
             throw new SvgParseException("There is no child node in the svg");
         }
         Svg svg = new Svg();
@@ -26,7 +26,7 @@ public class Circle extends SvgNode {
         builder.relativeMoveTo(-r, 0);
         builder.relativeArcTo(r, r, false, true, true, 2 * r, 0);
         builder.relativeArcTo(r, r, false, true, true, -2 * r, 0);
-        pathData =  builder.toString();
+        pathData = builder.toPathData();
     }
 
 }
@@ -27,7 +27,7 @@ public class Ellipse extends SvgNode {
         builder.relativeMoveTo(-rx, 0);
         builder.relativeArcTo(rx, ry, false, true, true, 2 * rx, 0);
         builder.relativeArcTo(rx, ry, false, true, true, -2 * rx, 0);
-        pathData =  builder.toString();
+        pathData = builder.toPathData();
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -13,14 +13,15 @@ public class G extends SvgGroupNode {
 
     @Override
     public void transform(float a, float b, float c, float d, float e, float f) {
+        // Compose the matrix once and pass it down, the children concat it to their own.
+        float[] ctm = TransformUtils.preConcat(getLocalMatrix(), new float[]{a, b, c, d, e ,f});
         for (SvgNode svgNode : children) {
-            if (matrix == null) {
-                svgNode.transform(a, b, c, d, e, f);
-            } else {
-                matrix = TransformUtils.preConcat(matrix, new float[]{a, b, c, d, e ,f});
-                svgNode.transform(matrix[0], matrix[1], matrix[2], matrix[3], matrix[4], matrix[5]);
-            }
+            svgNode.transform(ctm[0], ctm[1], ctm[2], ctm[3], ctm[4], ctm[5]);
         }
     }
 
+    protected float[] getLocalMatrix() {
+        return matrix;
+    }
+
 }
@@ -26,7 +26,7 @@ public class Line extends SvgNode {
         PathBuilder builder = new PathBuilder();
         builder.absoluteMoveTo(x1, y1);
         builder.absoluteLineTo(x2, y2);
-        pathData =  builder.toString();
+        pathData = builder.toPathData();
     }
 
 }
@@ -1,5 +1,7 @@
 package com.github.megatronking.svg.generator.svg.model;
 
+import com.github.megatronking.svg.generator.utils.PathData;
+
 /**
  * The path element model in the svg xml.
  *
@@ -13,7 +15,7 @@ public class Path extends SvgNode {
 
     @Override
     public void toPath() {
-        pathData =  d == null ? null : d.replaceAll("(\\d)-", "$1,-");
+        pathData = PathData.parse(d);
     }
 
 }
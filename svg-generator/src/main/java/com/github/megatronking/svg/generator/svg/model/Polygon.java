@@ -31,7 +31,7 @@ public class Polygon extends SvgNode {
             baseY = y;
         }
         builder.relativeClose();
-        pathData = builder.toString();
+        pathData = builder.toPathData();
     }
 
 }
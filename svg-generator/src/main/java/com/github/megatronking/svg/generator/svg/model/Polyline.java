@@ -30,7 +30,7 @@ public class Polyline extends SvgNode {
             baseX = x;
             baseY = y;
         }
-        pathData = builder.toString();
+        pathData = builder.toPathData();
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
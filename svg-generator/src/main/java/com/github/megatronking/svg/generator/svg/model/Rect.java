@@ -28,6 +28,6 @@ public class Rect extends SvgNode {
         builder.relativeVerticalTo(height);
         builder.relativeHorizontalTo(-width);
         builder.relativeClose();
-        pathData = builder.toString();
+        pathData = builder.toPathData();
     }
 }
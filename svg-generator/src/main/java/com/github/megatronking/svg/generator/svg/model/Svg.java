@@ -1,6 +1,10 @@
 package com.github.megatronking.svg.generator.svg.model;
 
+import com.github.megatronking.svg.generator.svg.utils.TransformUtils;
+import com.github.megatronking.svg.generator.utils.FloatUtils;
 import com.github.megatronking.svg.generator.utils.TextUtils;
+import com.github.megatronking.svg.generator.vector.model.Group;
+import com.github.megatronking.svg.generator.vector.model.Vector;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -23,18 +27,13 @@ public class Svg extends SvgGroupNode {
 
     @Override
     public void transform(float a, float b, float c, float d, float e, float f) {
-        // Ignore itself.
-        for (SvgNode svgNode : children) {
-            transform(svgNode);
-        }
-    }
-
-    private void transform(SvgNode node) {
-        if (matrix != null) {
-            node.transform(matrix[0], matrix[1], matrix[2], matrix[3], matrix[4], matrix[5]);
-        }
+        // The root matrix is applied first, and then the view box offset.
+        float[] ctm = TransformUtils.preConcat(matrix, new float[]{a, b, c, d, e ,f});
         if (viewBox != null) {
-            node.transform(1, 0, 0, 1, -viewBox[0], -viewBox[1]);
+            ctm = TransformUtils.preConcat(ctm, new float[]{1, 0, 0, 1, -viewBox[0], -viewBox[1]});
+        }
+        for (SvgNode svgNode : children) {
+            svgNode.transform(ctm[0], ctm[1], ctm[2], ctm[3], ctm[4], ctm[5]);
         }
     }
 
@@ -44,6 +43,37 @@ public class Svg extends SvgGroupNode {
         return true;
     }
 
+    /**
+     * Convert the svg tree into the vector model directly, it is the same as the vector xml
+     * written by {@link com.github.megatronking.svg.generator.writer.impl.Svg2VectorTemplateWriter}.
+     */
+    public Vector convert2Vector() {
+        Vector vector = new Vector();
+        vector.alpha = 1.0f;
+        vector.width = FloatUtils.format2String(w) + "dp";
+        vector.height = FloatUtils.format2String(h) + "dp";
+        vector.viewportWidth = viewBox[2];
+        vector.viewportHeight = viewBox[3];
+        Group rootGroup = new Group(null);
+        for (SvgNode svgNode : children) {
+            convert2VectorPaths(svgNode, rootGroup, vector.children);
+        }
+        return vector;
+    }
+
+    private void convert2VectorPaths(SvgNode svgNode, Group rootGroup, List<Object> paths) {
+        if (!svgNode.isValid()) {
+            return;
+        }
+        if (svgNode instanceof SvgGroupNode) {
+            for (SvgNode child : ((SvgGroupNode) svgNode).children) {
+                convert2VectorPaths(child, rootGroup, paths);
+            }
+        } else {
+            paths.add(svgNode.convert2VectorPath(rootGroup));
+        }
+    }
+
     public void parseEnd() {
         // Handle define styles
         Map<String, Map<String, String>> defineStyles = new HashMap<>();
@@ -4,9 +4,12 @@ import com.github.megatronking.svg.generator.svg.utils.TransformUtils;
 import com.github.megatronking.svg.generator.utils.Color;
 import com.github.megatronking.svg.generator.utils.Dimen;
 import com.github.megatronking.svg.generator.utils.FloatUtils;
-import com.github.megatronking.svg.generator.utils.PathDataNode;
+import com.github.megatronking.svg.generator.utils.PathData;
+import com.github.megatronking.svg.generator.utils.PathDataSerializer;
 import com.github.megatronking.svg.generator.utils.SCU;
+import com.github.megatronking.svg.generator.vector.model.Group;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,7 +25,7 @@ public abstract class SvgNode implements Cloneable {
     public String id;
     public String clazz;
 
-    protected String pathData;
+    protected PathData pathData;
 
     public Map<String, String> styleMaps;
 
@@ -33,6 +36,9 @@ public abstract class SvgNode implements Cloneable {
      */
     public float[] matrix;
 
+    // Whether the matrix has been applied to the path data.
+    private boolean mMatrixApplied;
+
     public abstract void toPath();
 
     public void applyStyles(Map<String, String> inheritStyles, Map<String, Map<String, String>> defineStyles) {
@@ -80,25 +86,34 @@ public abstract class SvgNode implements Cloneable {
         }
     }
 
+    /**
+     * Concat the parent's matrix to this node. The path data is not touched here, the full matrix
+     * is applied only once when the path data is written.
+     */
     public void transform(float a, float b, float c, float d, float e, float f) {
         // No need to transform.
         if (!isValid()) {
             return;
         }
         matrix = TransformUtils.preConcat(matrix, new float[]{a, b, c, d, e ,f});
-        if (pathData == null) {
-            return;
+        if (mMatrixApplied) {
+            pathData.transform(a, b, c, d, e, f);
         }
-        // It is not a good choice to transform the node one by one, this will cause distortion
-        // in some condition such as transform the line, but the group cannot support matrix.
-        PathDataNode[] node = PathDataNode.createNodesFromPathData(pathData);
-        if (node == null) {
-            return;
-        }
-        if (!(matrix[0] == 1.0f && matrix[1] == 0.0f && matrix[2] == 0.0f && matrix[3] == 1.0f && matrix[4] == 0.0f && matrix[5] == 0.0f)) {
-            PathDataNode.transform(matrix[0], matrix[1], matrix[2], matrix[3], matrix[4], matrix[5], node);
+    }
+
+    /**
+     * @return the path data in the coordinate of the root node.
+     */
+    protected PathData getPathData() {
+        if (pathData != null && matrix != null && !mMatrixApplied) {
+            // It is not a good choice to transform the node one by one, this will cause distortion
+            // in some condition such as transform the line, but the group cannot support matrix.
+            if (!TransformUtils.isIdentity(matrix)) {
+                pathData.transform(matrix[0], matrix[1], matrix[2], matrix[3], matrix[4], matrix[5]);
+            }
+            mMatrixApplied = true;
         }
-        pathData = PathDataNode.nodeListToString(node);
+        return pathData;
     }
 
     public boolean isValid() {
@@ -136,25 +151,95 @@ public abstract class SvgNode implements Cloneable {
 
     public String convert2VectorXml(String indent) {
         StringBuilder sb = new StringBuilder();
+        try {
+            convert2VectorXml(sb, indent);
+        } catch (IOException e) {
+            // StringBuilder never throws it.
+        }
+        return sb.toString();
+    }
+
+    public void convert2VectorXml(Appendable sb, String indent) throws IOException {
+        PathAttributes attributes = resolveAttributes();
         sb.append("<path\n");
         if (id != null && id.length() != 0) {
             sb.append(indent).append("    android:name=\"").append(id).append("\"\n");
         }
-        // Use black fill color as default.
-        int fillColor = styleMaps != null && styleMaps.containsKey(SvgConstants.ATTR_FILL) ?
-                Color.convert(styleMaps.get(SvgConstants.ATTR_FILL)) : Color.BLACK;
-        if (fillColor != Color.TRANSPARENT) {
-            sb.append(indent).append("    android:fillColor=\"#").append(Integer.toHexString(fillColor)).append("\"\n");
+        if (attributes.fillColor != Color.TRANSPARENT) {
+            sb.append(indent).append("    android:fillColor=\"#").append(Integer.toHexString(attributes.fillColor)).append("\"\n");
+        }
+        if (attributes.fillAlpha != null) {
+            sb.append(indent).append("    android:fillAlpha=\"").append(String.valueOf(attributes.fillAlpha)).append("\"\n");
+        }
+        if (attributes.fillType != null) {
+            sb.append(indent).append("    android:fillType=\"").append(attributes.fillType).append("\"\n");
+        }
+        if (attributes.strokeColor != Color.TRANSPARENT) {
+            sb.append(indent).append("    android:strokeColor=\"#").append(Integer.toHexString(attributes.strokeColor)).append("\"\n");
+            sb.append(indent).append("    android:strokeWidth=\"").append(FloatUtils.format2String(attributes.strokeWidth)).append("\"\n");
+        }
+        if (attributes.strokeLineJoin != null) {
+            sb.append(indent).append("    android:strokeLineJoin=\"").append(attributes.strokeLineJoin).append("\"\n");
+        }
+        if (attributes.strokeLineCap != null) {
+            sb.append(indent).append("    android:strokeLineCap=\"").append(attributes.strokeLineCap).append("\"\n");
+        }
+        if (attributes.strokeMiterLimit != null) {
+            sb.append(indent).append("    android:strokeMiterLimit=\"").append(String.valueOf(attributes.strokeMiterLimit)).append("\"\n");
+        }
+        if (attributes.strokeAlpha != null) {
+            sb.append(indent).append("    android:strokeAlpha=\"").append(String.valueOf(attributes.strokeAlpha)).append("\"\n");
+        }
+        sb.append(indent).append("    android:pathData=\"");
+        PathDataSerializer.write(getPathData(), sb);
+        sb.append("\"/>\n");
+    }
+
+    /**
+     * Convert the node into the path model of vector directly. The values are the same as those
+     * read back from {@link #convert2VectorXml(String)}, but nothing is written or parsed.
+     */
+    public com.github.megatronking.svg.generator.vector.model.Path convert2VectorPath(Group parentGroup) {
+        PathAttributes attributes = resolveAttributes();
+        com.github.megatronking.svg.generator.vector.model.Path path =
+                new com.github.megatronking.svg.generator.vector.model.Path(parentGroup);
+        if (id != null && id.length() != 0) {
+            path.name = id;
         }
-        String fillOpacity = styleMaps.get(SvgConstants.ATTR_FILL_OPACITY);
+        // The attributes which are not written to the xml get the defaults of vector's path.
+        path.fillColor = attributes.fillColor;
+        path.fillAlpha = attributes.fillAlpha != null ? attributes.fillAlpha : 1.0f;
+        path.fillType = attributes.fillType;
+        path.strokeColor = attributes.strokeColor;
+        path.strokeWidth = attributes.strokeColor != Color.TRANSPARENT ? attributes.strokeWidth : 0;
+        path.strokeLineJoin = attributes.strokeLineJoin != null ? attributes.strokeLineJoin : "miter";
+        path.strokeLineCap = attributes.strokeLineCap != null ? attributes.strokeLineCap : "butt";
+        path.strokeMiterLimit = attributes.strokeMiterLimit != null ? attributes.strokeMiterLimit : 4;
+        path.strokeAlpha = attributes.strokeAlpha != null ? attributes.strokeAlpha : 1.0f;
+        path.trimPathEnd = 1;
+        path.pathData = getPathData();
+        return path;
+    }
+
+    /**
+     * Resolve the attributes of vector's path from the styles, both the vector xml and the vector
+     * model are converted from them.
+     */
+    private PathAttributes resolveAttributes() {
+        Map<String, String> styles = styleMaps != null ? styleMaps : new HashMap<String, String>();
+        PathAttributes attributes = new PathAttributes();
+        // Use black fill color as default.
+        attributes.fillColor = styles.containsKey(SvgConstants.ATTR_FILL) ?
+                Color.convert(styles.get(SvgConstants.ATTR_FILL)) : Color.BLACK;
+        String fillOpacity = styles.get(SvgConstants.ATTR_FILL_OPACITY);
         if (fillOpacity != null) {
             float fillOpacityAsFloat = SCU.parseFloat(fillOpacity, 1.0f);
             if (fillOpacityAsFloat != 0) {
-                sb.append(indent).append("    android:fillAlpha=\"").append(fillOpacityAsFloat).append("\"\n");
+                attributes.fillAlpha = fillOpacityAsFloat;
             }
         }
         // fillType used in API 24, and value 'evenodd' or 'nonzero' needs a conversation
-        String fillRule = styleMaps.get(SvgConstants.ATTR_FILL_RULE);
+        String fillRule = styles.get(SvgConstants.ATTR_FILL_RULE);
         if (fillRule != null && !"inherit".equals(fillRule)) {
             if ("evenodd".equals(fillRule)) {
                 fillRule = "evenOdd";
@@ -162,46 +247,39 @@ public abstract class SvgNode implements Cloneable {
             if ("nonzero".equals(fillRule)) {
                 fillRule = "nonZero";
             }
-            sb.append(indent).append("    android:fillType=\"").append(fillRule).append("\"\n");
+            attributes.fillType = fillRule;
         }
         // Stroke color and width must be valid.
-        if (styleMaps != null) {
-            int strokeColor = Color.convert(styleMaps.get(SvgConstants.ATTR_STROKE));
-            float strokeWidth = Dimen.convert(styleMaps.get(SvgConstants.ATTR_STROKE_WIDTH));
-            if (strokeColor != Color.TRANSPARENT) {
-                // Has stroke color, the width would be 1.0 with a default value.
-                if (strokeWidth == 0) {
-                    strokeWidth = 1.0f;
-                }
-                sb.append(indent).append("    android:strokeColor=\"#").append(Integer.toHexString(strokeColor)).append("\"\n");
-                sb.append(indent).append("    android:strokeWidth=\"").append(FloatUtils.format2String(strokeWidth)).append("\"\n");
-            }
-            // lineJoin, lineCap and strokeMiterLimit not support 'inherit'
-            String strokeLineJoin = styleMaps.get(SvgConstants.ATTR_STROKE_LINEJOINE);
-            if (strokeLineJoin != null && !"inherit".equals(strokeLineJoin)) {
-                sb.append(indent).append("    android:strokeLineJoin=\"").append(strokeLineJoin).append("\"\n");
-            }
-            String strokeLineCap = styleMaps.get(SvgConstants.ATTR_STROKE_LINECAP);
-            if (strokeLineCap != null && !"inherit".equals(strokeLineCap)) {
-                sb.append(indent).append("    android:strokeLineCap=\"").append(strokeLineCap).append("\"\n");
-            }
-            String strokeMiterLimit = styleMaps.get(SvgConstants.ATTR_STROKE_MITERLIMIT);
-            if (strokeMiterLimit != null) {
-                float strokeMiterLimitAsFloat = SCU.parseFloat(strokeMiterLimit, 4f);
-                if (!"inherit".equals(strokeMiterLimit) && strokeMiterLimitAsFloat >= 1) {
-                    sb.append(indent).append("    android:strokeMiterLimit=\"").append(strokeMiterLimitAsFloat).append("\"\n");
-                }
+        attributes.strokeColor = Color.convert(styles.get(SvgConstants.ATTR_STROKE));
+        attributes.strokeWidth = Dimen.convert(styles.get(SvgConstants.ATTR_STROKE_WIDTH));
+        // Has stroke color, the width would be 1.0 with a default value.
+        if (attributes.strokeColor != Color.TRANSPARENT && attributes.strokeWidth == 0) {
+            attributes.strokeWidth = 1.0f;
+        }
+        // lineJoin, lineCap and strokeMiterLimit not support 'inherit'
+        String strokeLineJoin = styles.get(SvgConstants.ATTR_STROKE_LINEJOINE);
+        if (strokeLineJoin != null && !"inherit".equals(strokeLineJoin) && strokeLineJoin.trim().length() != 0) {
+            attributes.strokeLineJoin = strokeLineJoin;
+        }
+        String strokeLineCap = styles.get(SvgConstants.ATTR_STROKE_LINECAP);
+        if (strokeLineCap != null && !"inherit".equals(strokeLineCap) && strokeLineCap.trim().length() != 0) {
+            attributes.strokeLineCap = strokeLineCap;
+        }
+        String strokeMiterLimit = styles.get(SvgConstants.ATTR_STROKE_MITERLIMIT);
+        if (strokeMiterLimit != null) {
+            float strokeMiterLimitAsFloat = SCU.parseFloat(strokeMiterLimit, 4f);
+            if (!"inherit".equals(strokeMiterLimit) && strokeMiterLimitAsFloat >= 1) {
+                attributes.strokeMiterLimit = strokeMiterLimitAsFloat;
             }
-            String strokeOpacity = styleMaps.get(SvgConstants.ATTR_STROKE_OPACITY);
-            if (strokeOpacity != null) {
-                float strokeOpacityAsFloat = SCU.parseFloat(strokeOpacity, 1.0f);
-                if (strokeOpacityAsFloat != 0) {
-                    sb.append(indent).append("    android:strokeAlpha=\"").append(strokeOpacityAsFloat).append("\"\n");
-                }
+        }
+        String strokeOpacity = styles.get(SvgConstants.ATTR_STROKE_OPACITY);
+        if (strokeOpacity != null) {
+            float strokeOpacityAsFloat = SCU.parseFloat(strokeOpacity, 1.0f);
+            if (strokeOpacityAsFloat != 0) {
+                attributes.strokeAlpha = strokeOpacityAsFloat;
             }
         }
-        sb.append(indent).append("    android:pathData=\"").append(pathData).append("\"/>\n");
-        return sb.toString();
+        return attributes;
     }
 
     @Override
@@ -210,6 +288,26 @@ public abstract class SvgNode implements Cloneable {
         if (newNode != null && styleMaps != null) {
             newNode.styleMaps = new HashMap<>(styleMaps);
         }
+        if (newNode != null && pathData != null) {
+            newNode.pathData = new PathData(pathData);
+        }
         return newNode;
     }
+
+    /**
+     * The attributes of vector's path, null if it is not written to the xml.
+     */
+    private static class PathAttributes {
+
+        private int fillColor;
+        private Float fillAlpha;
+        private String fillType;
+        private int strokeColor;
+        private float strokeWidth;
+        private String strokeLineJoin;
+        private String strokeLineCap;
+        private Float strokeMiterLimit;
+        private Float strokeAlpha;
+
+    }
 }
@@ -20,14 +20,10 @@ public class Use extends G {
     public String href;
 
     @Override
-    public void transform(float a, float b, float c, float d, float e, float f) {
+    protected float[] getLocalMatrix() {
         if (x != 0 || y != 0) {
-            if (matrix == null) {
-                matrix = new float[] {1, 0, 0, 1, x, y};
-            } else {
-                matrix = TransformUtils.preConcat(matrix, new float[] {1, 0, 0, 1, x, y});
-            }
+            return TransformUtils.preConcat(matrix, new float[] {1, 0, 0, 1, x, y});
         }
-        super.transform(a, b, c, d, e, f);
+        return matrix;
     }
 }
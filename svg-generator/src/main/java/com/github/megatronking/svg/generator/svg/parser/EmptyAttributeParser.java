@@ -1,9 +1,8 @@
 package com.github.megatronking.svg.generator.svg.parser;
 
 import com.github.megatronking.svg.generator.xml.CommonAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * An empty attribute parser.
@@ -15,7 +14,7 @@ import org.dom4j.Element;
 public class EmptyAttributeParser<T> extends CommonAbstractAttributeParser<T> {
 
     @Override
-    public void parse(Element element, T t) throws DocumentException {
+    public void parse(XmlElement element, T t) throws XmlParseException {
         // Nothing to parse
     }
 }
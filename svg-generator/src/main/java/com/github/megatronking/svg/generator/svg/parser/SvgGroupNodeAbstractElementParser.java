@@ -16,10 +16,8 @@ import com.github.megatronking.svg.generator.svg.model.Symbol;
 import com.github.megatronking.svg.generator.svg.model.Use;
 import com.github.megatronking.svg.generator.xml.ChildrenElementParser;
 import com.github.megatronking.svg.generator.xml.IAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * The svg group nodes have some common child element, we handle them in this class.
@@ -35,7 +33,7 @@ public abstract class SvgGroupNodeAbstractElementParser<T extends SvgGroupNode>
     }
 
     @Override
-    protected void parseChild(Element childElement, T groupNode) throws DocumentException {
+    protected void parseChild(XmlElement childElement, T groupNode) throws XmlParseException {
         if (SvgConstants.TAG_GROUP.equals(childElement.getName())) {
             G group = new G();
             groupNode.children.add(group);
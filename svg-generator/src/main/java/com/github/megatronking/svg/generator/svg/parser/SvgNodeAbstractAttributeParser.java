@@ -6,9 +6,8 @@ import com.github.megatronking.svg.generator.svg.utils.StyleUtils;
 import com.github.megatronking.svg.generator.svg.utils.TransformUtils;
 import com.github.megatronking.svg.generator.utils.SCU;
 import com.github.megatronking.svg.generator.xml.CommonAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 import java.util.HashMap;
 
@@ -22,11 +21,11 @@ import java.util.HashMap;
 public abstract class SvgNodeAbstractAttributeParser<T extends SvgNode> extends CommonAbstractAttributeParser<T> {
 
     @Override
-    public void parse(Element element, T node) throws DocumentException {
+    public void parse(XmlElement element, T node) throws XmlParseException {
         handleCommonAttributes(element, node);
     }
 
-    private void handleCommonAttributes(Element element, SvgNode node) {
+    private void handleCommonAttributes(XmlElement element, SvgNode node) {
         node.id = parseString(element, SvgConstants.ATTR_ID);
         node.clazz = parseString(element, SvgConstants.ATTR_CLASS);
         String matrix = parseString(element, SvgConstants.ATTR_TRANSFORM);
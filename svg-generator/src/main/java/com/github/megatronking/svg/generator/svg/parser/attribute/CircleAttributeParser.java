@@ -3,9 +3,8 @@ package com.github.megatronking.svg.generator.svg.parser.attribute;
 import com.github.megatronking.svg.generator.svg.model.Circle;
 import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build circle's field values from attributes of the svg element.
@@ -17,7 +16,7 @@ import org.dom4j.Element;
 public class CircleAttributeParser extends SvgNodeAbstractAttributeParser<Circle> {
 
     @Override
-    public void parse(Element element, Circle circle) throws DocumentException {
+    public void parse(XmlElement element, Circle circle) throws XmlParseException {
         super.parse(element, circle);
         circle.cx = parseFloat(element, SvgConstants.ATTR_CX);
         circle.cy = parseFloat(element, SvgConstants.ATTR_CY);
@@ -3,9 +3,8 @@ package com.github.megatronking.svg.generator.svg.parser.attribute;
 import com.github.megatronking.svg.generator.svg.model.Ellipse;
 import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build ellipse's field values from attributes of the svg element.
@@ -17,7 +16,7 @@ import org.dom4j.Element;
 public class EllipseAttributeParser extends SvgNodeAbstractAttributeParser<Ellipse> {
 
     @Override
-    public void parse(Element element, Ellipse ellipse) throws DocumentException {
+    public void parse(XmlElement element, Ellipse ellipse) throws XmlParseException {
         super.parse(element, ellipse);
         ellipse.cx = parseFloat(element, SvgConstants.ATTR_CX);
         ellipse.cy = parseFloat(element, SvgConstants.ATTR_CY);
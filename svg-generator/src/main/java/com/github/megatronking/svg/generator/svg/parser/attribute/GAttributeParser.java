@@ -2,9 +2,8 @@ package com.github.megatronking.svg.generator.svg.parser.attribute;
 
 import com.github.megatronking.svg.generator.svg.model.G;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build groups's field values from attributes of the svg element.
@@ -16,7 +15,7 @@ import org.dom4j.Element;
 public class GAttributeParser extends SvgNodeAbstractAttributeParser<G> {
 
     @Override
-    public void parse(Element element, G group)  throws DocumentException {
+    public void parse(XmlElement element, G group)  throws XmlParseException {
         super.parse(element, group);
         // Nothing to parse.
     }
@@ -3,9 +3,8 @@ package com.github.megatronking.svg.generator.svg.parser.attribute;
 import com.github.megatronking.svg.generator.svg.model.Line;
 import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build line's field values from attributes of the svg element.
@@ -17,7 +16,7 @@ import org.dom4j.Element;
 public class LineAttributeParser extends SvgNodeAbstractAttributeParser<Line> {
 
     @Override
-    public void parse(Element element, Line line) throws DocumentException {
+    public void parse(XmlElement element, Line line) throws XmlParseException {
         super.parse(element, line);
         line.x1 = parseFloat(element, SvgConstants.ATTR_X1);
         line.y1 = parseFloat(element, SvgConstants.ATTR_Y1);
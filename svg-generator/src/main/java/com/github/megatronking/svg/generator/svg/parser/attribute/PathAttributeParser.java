@@ -3,10 +3,8 @@ package com.github.megatronking.svg.generator.svg.parser.attribute;
 import com.github.megatronking.svg.generator.svg.model.Path;
 import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build path's field values from attributes of the svg element.
@@ -18,7 +16,7 @@ import org.dom4j.Element;
 public class PathAttributeParser extends SvgNodeAbstractAttributeParser<Path> {
 
     @Override
-    public void parse(Element element, Path path) throws DocumentException {
+    public void parse(XmlElement element, Path path) throws XmlParseException {
         super.parse(element, path);
         path.d = parseString(element, SvgConstants.ATTR_D);
         path.toPath();
@@ -3,9 +3,8 @@ package com.github.megatronking.svg.generator.svg.parser.attribute;
 import com.github.megatronking.svg.generator.svg.model.Polyline;
 import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build polygon's field values from attributes of the svg element.
@@ -17,7 +16,7 @@ import org.dom4j.Element;
 public class PolylineAttributeParser extends SvgNodeAbstractAttributeParser<Polyline> {
 
     @Override
-    public void parse(Element element, Polyline polyline) throws DocumentException {
+    public void parse(XmlElement element, Polyline polyline) throws XmlParseException {
         super.parse(element, polyline);
         polyline.points = parseString(element, SvgConstants.ATTR_POINTS);
         polyline.toPath();
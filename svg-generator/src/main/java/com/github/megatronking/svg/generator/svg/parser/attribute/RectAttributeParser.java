@@ -3,10 +3,8 @@ package com.github.megatronking.svg.generator.svg.parser.attribute;
 import com.github.megatronking.svg.generator.svg.model.Rect;
 import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build rect's field values from attributes of the svg element.
@@ -18,7 +16,7 @@ import org.dom4j.Element;
 public class RectAttributeParser extends SvgNodeAbstractAttributeParser<Rect> {
 
     @Override
-    public void parse(Element element, Rect rect) throws DocumentException {
+    public void parse(XmlElement element, Rect rect) throws XmlParseException {
         super.parse(element, rect);
         rect.x = parseFloat(element, SvgConstants.ATTR_X);
         rect.y = parseFloat(element, SvgConstants.ATTR_Y);
@@ -5,9 +5,8 @@ import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
 import com.github.megatronking.svg.generator.utils.SCU;
 import com.github.megatronking.svg.generator.utils.TextUtils;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build svg's field values from attributes of the element.
@@ -19,7 +18,7 @@ import org.dom4j.Element;
 public class SvgAttributeParser extends SvgNodeAbstractAttributeParser<Svg> {
 
     @Override
-    public void parse(Element element, Svg svg) throws DocumentException {
+    public void parse(XmlElement element, Svg svg) throws XmlParseException {
         super.parse(element, svg);
         svg.w = parseDimen(element, SvgConstants.ATTR_WIDTH);
         svg.h = parseDimen(element, SvgConstants.ATTR_HEIGHT);
@@ -5,9 +5,8 @@ import com.github.megatronking.svg.generator.svg.model.Symbol;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
 import com.github.megatronking.svg.generator.utils.SCU;
 import com.github.megatronking.svg.generator.utils.TextUtils;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build symbol's field values from attributes of the svg element.
@@ -19,7 +18,7 @@ import org.dom4j.Element;
 public class SymbolAttributeParser extends SvgNodeAbstractAttributeParser<Symbol> {
 
     @Override
-    public void parse(Element element, Symbol symbol) throws DocumentException {
+    public void parse(XmlElement element, Symbol symbol) throws XmlParseException {
         super.parse(element, symbol);
         // Fix a case-sensitive or multi-name issue, such as 'viewbox' or 'viewBox' or 'viewPort' or 'viewport'
         String viewBox = parseString(element, SvgConstants.ATTR_VIEW_BOX1, null);
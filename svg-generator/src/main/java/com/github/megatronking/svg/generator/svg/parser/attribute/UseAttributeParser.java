@@ -3,10 +3,8 @@ package com.github.megatronking.svg.generator.svg.parser.attribute;
 import com.github.megatronking.svg.generator.svg.model.SvgConstants;
 import com.github.megatronking.svg.generator.svg.model.Use;
 import com.github.megatronking.svg.generator.svg.parser.SvgNodeAbstractAttributeParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build use's field values from attributes of the svg element.
@@ -18,7 +16,7 @@ import org.dom4j.Element;
 public class UseAttributeParser extends SvgNodeAbstractAttributeParser<Use> {
 
     @Override
-    public void parse(Element element, Use use) throws DocumentException {
+    public void parse(XmlElement element, Use use) throws XmlParseException {
         super.parse(element, use);
         use.x = parseFloat(element, SvgConstants.ATTR_X);
         use.y = parseFloat(element, SvgConstants.ATTR_Y);
@@ -3,9 +3,8 @@ package com.github.megatronking.svg.generator.svg.parser.element;
 import com.github.megatronking.svg.generator.svg.model.Svg;
 import com.github.megatronking.svg.generator.svg.parser.SvgGroupNodeAbstractElementParser;
 import com.github.megatronking.svg.generator.svg.parser.SvgParserImpl;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Parse the svg's root element.
@@ -21,7 +20,7 @@ public class SvgElementParser extends SvgGroupNodeAbstractElementParser<Svg> {
     }
 
     @Override
-    public void parse(Element element, Svg svg) throws DocumentException {
+    public void parse(XmlElement element, Svg svg) throws XmlParseException {
         super.parse(element, svg);
         svg.parseEnd();
     }
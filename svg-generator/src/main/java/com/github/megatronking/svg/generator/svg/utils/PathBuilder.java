@@ -1,5 +1,7 @@
 package com.github.megatronking.svg.generator.svg.utils;
 
+import com.github.megatronking.svg.generator.utils.PathData;
+
 /**
  * Build a string for Svg file's path data.
  *
@@ -9,72 +11,90 @@ package com.github.megatronking.svg.generator.svg.utils;
 
 public class PathBuilder {
 
-    private StringBuilder mPathData = new StringBuilder();
+    private PathData mPathData = new PathData();
+    private float[] mParams = new float[7];
 
-    private String booleanToString(boolean flag) {
-        return flag ? "1" : "0";
+    private float booleanToFloat(boolean flag) {
+        return flag ? 1 : 0;
     }
 
-    public PathBuilder absoluteMoveTo(float x, float y) {
-        mPathData.append("M").append(x).append(",").append(y);
+    private PathBuilder add(char command, int count) {
+        mPathData.addCommand(command, mParams, 0, count);
         return this;
     }
 
+    private PathBuilder addPoint(char command, float x, float y) {
+        mParams[0] = x;
+        mParams[1] = y;
+        return add(command, 2);
+    }
+
+    private PathBuilder addArc(char command, float rx, float ry, boolean rotation, boolean largeArc,
+                               boolean sweep, float x, float y) {
+        mParams[0] = rx;
+        mParams[1] = ry;
+        mParams[2] = booleanToFloat(rotation);
+        mParams[3] = booleanToFloat(largeArc);
+        mParams[4] = booleanToFloat(sweep);
+        mParams[5] = x;
+        mParams[6] = y;
+        return add(command, 7);
+    }
+
+    public PathBuilder absoluteMoveTo(float x, float y) {
+        return addPoint('M', x, y);
+    }
+
     public PathBuilder relativeMoveTo(float x, float y) {
-        mPathData.append("m").append(x).append(",").append(y);
-        return this;
+        return addPoint('m', x, y);
     }
 
     public PathBuilder absoluteLineTo(float x, float y) {
-        mPathData.append("L").append(x).append(",").append(y);
-        return this;
+        return addPoint('L', x, y);
     }
 
     public PathBuilder relativeLineTo(float x, float y) {
-        mPathData.append("l").append(x).append(",").append(y);
-        return this;
+        return addPoint('l', x, y);
     }
 
     public PathBuilder absoluteVerticalTo(float v) {
-        mPathData.append("V").append(v);
-        return this;
+        mParams[0] = v;
+        return add('V', 1);
     }
 
     public PathBuilder relativeVerticalTo(float v) {
-        mPathData.append("v").append(v);
-        return this;
+        mParams[0] = v;
+        return add('v', 1);
     }
 
     public PathBuilder absoluteHorizontalTo(float h) {
-        mPathData.append("H").append(h);
-        return this;
+        mParams[0] = h;
+        return add('H', 1);
     }
 
     public PathBuilder relativeHorizontalTo(float h) {
-        mPathData.append("h").append(h);
-        return this;
+        mParams[0] = h;
+        return add('h', 1);
     }
 
     public PathBuilder absoluteArcTo(float rx, float ry, boolean rotation, boolean largeArc, boolean sweep, float x, float y) {
-        mPathData.append("A").append(rx).append(",").append(ry).append(",").append(booleanToString(rotation)).append(",").append(
-                booleanToString(largeArc)).append(",").append(booleanToString(sweep)).append(",").append(x).append(",").append(y);
-        return this;
+        return addArc('A', rx, ry, rotation, largeArc, sweep, x, y);
     }
 
     public PathBuilder relativeArcTo(float rx, float ry, boolean rotation, boolean largeArc, boolean sweep, float x, float y) {
-        mPathData.append("a").append(rx).append(",").append(ry).append(",").append(booleanToString(rotation)).append(",").append(
-                booleanToString(largeArc)).append(",").append(booleanToString(sweep)).append(",").append(x).append(",").append(y);
-        return this;
+        return addArc('a', rx, ry, rotation, largeArc, sweep, x, y);
     }
 
     public PathBuilder absoluteClose() {
-        mPathData.append("Z");
-        return this;
+        return add('Z', 0);
     }
 
     public PathBuilder relativeClose() {
-        mPathData.append("z");
-        return this;
+        return add('z', 0);
+    }
+
+    public PathData toPathData() {
+        return mPathData;
     }
 
     public String toString() {
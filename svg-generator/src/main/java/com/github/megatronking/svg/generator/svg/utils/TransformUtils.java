@@ -30,6 +30,11 @@ public class TransformUtils {
         return new float[] {valueTemp[0], valueTemp[3], valueTemp[1], valueTemp[4], valueTemp[2], valueTemp[5]};
     }
 
+    public static boolean isIdentity(float[] matrix) {
+        return matrix == null || (matrix[0] == 1 && matrix[1] == 0 && matrix[2] == 0 && matrix[3] == 1
+                && matrix[4] == 0 && matrix[5] == 0);
+    }
+
     public static float[] formatTransform(String transform) {
         Map<Integer, String> transformMaps = new TreeMap<>(new Comparator<Integer>() {
             @Override
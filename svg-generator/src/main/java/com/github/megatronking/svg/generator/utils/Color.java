@@ -2,6 +2,8 @@ package com.github.megatronking.svg.generator.utils;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The helper handles color values used in parsing vector xml.
@@ -34,7 +36,8 @@ public class Color {
     private static final String REFERENCE_APP = "@color/";
     private static final String REFERENCE_RGB = "rgb";
 
-    public static HashMap<String, Integer> appColorMaps = new HashMap<>();
+    // The app colors might be loaded while the converting threads are reading.
+    public static Map<String, Integer> appColorMaps = new ConcurrentHashMap<>();
     public static HashMap<String, Integer> systemColorMaps = new HashMap<>();
     public static HashMap<String, Integer> keywordColorMaps = new HashMap<>();
 
@@ -103,7 +106,8 @@ public class Color {
 
     private static int referenceApp(String color) {
         String name = color.substring(REFERENCE_APP.length());
-        return appColorMaps.containsKey(name) ? appColorMaps.get(name) : DEFAULT_COLOR;
+        Integer value = appColorMaps.get(name);
+        return value != null ? value : DEFAULT_COLOR;
     }
 
     private static int parseColor(String colorString, int defaultColor) {
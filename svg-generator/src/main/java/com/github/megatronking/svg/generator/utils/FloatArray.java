@@ -0,0 +1,53 @@
+package com.github.megatronking.svg.generator.utils;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of primitive floats, used to collect numbers without boxing.
+ */
+
+public class FloatArray {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private float[] mValues;
+    private int mSize;
+
+    public FloatArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FloatArray(int initialCapacity) {
+        mValues = new float[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(float value) {
+        if (mSize == mValues.length) {
+            mValues = Arrays.copyOf(mValues, mSize << 1);
+        }
+        mValues[mSize++] = value;
+    }
+
+    public float get(int index) {
+        if (index >= mSize) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return mValues[index];
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public void clear() {
+        mSize = 0;
+    }
+
+    /**
+     * @return a copy of the values, trimmed to {@link #size()}.
+     */
+    public float[] toArray() {
+        return Arrays.copyOf(mValues, mSize);
+    }
+
+}
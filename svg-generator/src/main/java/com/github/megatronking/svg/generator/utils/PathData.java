@@ -0,0 +1,438 @@
+package com.github.megatronking.svg.generator.utils;
+
+import java.util.Arrays;
+
+/**
+ * A compact representation of the "d" attribute. Instead of an object per command, all the
+ * commands are packed into a byte array and all the parameters into one float array, the
+ * parameters of command i start at {@link #getParamOffset(int)} in {@link #getCoords()}.
+ */
+
+public class PathData {
+
+    private static final int DEFAULT_COMMAND_CAPACITY = 16;
+    private static final int DEFAULT_COORD_CAPACITY = 64;
+
+    private byte[] mCommands;
+    private int[] mOffsets;
+    private float[] mCoords;
+
+    private int mCommandCount;
+    private int mCoordCount;
+
+    public PathData() {
+        this(DEFAULT_COMMAND_CAPACITY, DEFAULT_COORD_CAPACITY);
+    }
+
+    public PathData(int commandCapacity, int coordCapacity) {
+        mCommands = new byte[Math.max(commandCapacity, 1)];
+        mOffsets = new int[mCommands.length];
+        mCoords = new float[Math.max(coordCapacity, 1)];
+    }
+
+    public PathData(PathData pathData) {
+        mCommands = Arrays.copyOf(pathData.mCommands, Math.max(pathData.mCommandCount, 1));
+        mOffsets = Arrays.copyOf(pathData.mOffsets, mCommands.length);
+        mCoords = Arrays.copyOf(pathData.mCoords, Math.max(pathData.mCoordCount, 1));
+        mCommandCount = pathData.mCommandCount;
+        mCoordCount = pathData.mCoordCount;
+    }
+
+    /**
+     * @param pathData The string representing a path, the same as "d" string in svg file.
+     * @return the parsed path data, or null if the string is null.
+     */
+    public static PathData parse(CharSequence pathData) {
+        if (pathData == null) {
+            return null;
+        }
+        // The average is less than 4 chars per number in most path data.
+        PathData data = new PathData(DEFAULT_COMMAND_CAPACITY, pathData.length() / 4 + 1);
+        PathDataTokenizer tokenizer = new PathDataTokenizer(pathData);
+        FloatArray params = new FloatArray();
+        char command;
+        while ((command = tokenizer.nextCommand(params)) != 0) {
+            data.addCommand(command, params);
+        }
+        return data;
+    }
+
+    public void addCommand(char command) {
+        ensureCommandCapacity();
+        mOffsets[mCommandCount] = mCoordCount;
+        mCommands[mCommandCount++] = (byte) command;
+    }
+
+    public void addCommand(char command, FloatArray params) {
+        addCommand(command);
+        int count = params.size();
+        ensureCoordCapacity(count);
+        for (int i = 0; i < count; i++) {
+            mCoords[mCoordCount++] = params.get(i);
+        }
+    }
+
+    public void addCommand(char command, float[] params, int offset, int count) {
+        addCommand(command);
+        ensureCoordCapacity(count);
+        System.arraycopy(params, offset, mCoords, mCoordCount, count);
+        mCoordCount += count;
+    }
+
+    /**
+     * Append the commands of another path data. A leading relative moveto of it is relative to
+     * the origin, so it is appended as an absolute one.
+     */
+    public void append(PathData pathData) {
+        for (int i = 0; i < pathData.mCommandCount; i++) {
+            char command = (char) pathData.mCommands[i];
+            int offset = pathData.mOffsets[i];
+            int count = pathData.getParamCount(i);
+            if (i == 0 && command == 'm' && count >= 2) {
+                addCommand('M', pathData.mCoords, offset, 2);
+                if (count > 2) {
+                    // the other pairs are implicit relative linetos
+                    addCommand('l', pathData.mCoords, offset + 2, count - 2);
+                }
+            } else {
+                addCommand(command, pathData.mCoords, offset, count);
+            }
+        }
+    }
+
+    public void clear() {
+        mCommandCount = 0;
+        mCoordCount = 0;
+    }
+
+    public boolean isEmpty() {
+        return mCommandCount == 0;
+    }
+
+    /**
+     * @return the count of the commands.
+     */
+    public int size() {
+        return mCommandCount;
+    }
+
+    public char getCommand(int index) {
+        checkIndex(index);
+        return (char) mCommands[index];
+    }
+
+    public int getParamOffset(int index) {
+        checkIndex(index);
+        return mOffsets[index];
+    }
+
+    public int getParamCount(int index) {
+        checkIndex(index);
+        return (index + 1 < mCommandCount ? mOffsets[index + 1] : mCoordCount) - mOffsets[index];
+    }
+
+    /**
+     * The backing array of all parameters, it is shared and only the first {@link #getCoordCount()}
+     * values are meaningful.
+     */
+    public float[] getCoords() {
+        return mCoords;
+    }
+
+    public int getCoordCount() {
+        return mCoordCount;
+    }
+
+    /**
+     * Transform the path in place by the matrix:
+     * <pre>
+     *   a c e
+     * ( b d f )
+     *   0 0 1
+     * </pre>
+     * The horizontal and vertical line commands are kept if the matrix has no rotation or skew,
+     * otherwise they are expanded to the line commands.
+     */
+    public void transform(float a, float b, float c, float d, float e, float f) {
+        if (a == 1 && b == 0 && c == 0 && d == 1 && e == 0 && f == 0) {
+            return;
+        }
+        boolean axisAligned = b == 0 && c == 0;
+        if (!axisAligned) {
+            expandHorizontalAndVertical();
+        }
+        for (int i = 0; i < mCommandCount; i++) {
+            char command = (char) mCommands[i];
+            boolean relative = Character.isLowerCase(command);
+            // Relative coordinates are vectors, they never move with the translation.
+            float tx = relative ? 0 : e;
+            float ty = relative ? 0 : f;
+            int start = mOffsets[i];
+            int end = i + 1 < mCommandCount ? mOffsets[i + 1] : mCoordCount;
+            switch (command) {
+                case 'h':
+                case 'H':
+                    for (int k = start; k < end; k++) {
+                        mCoords[k] = mCoords[k] * a + tx;
+                    }
+                    break;
+                case 'v':
+                case 'V':
+                    for (int k = start; k < end; k++) {
+                        mCoords[k] = mCoords[k] * d + ty;
+                    }
+                    break;
+                case 'a':
+                case 'A':
+                    for (int k = start; k + 7 <= end; k += 7) {
+                        transformArc(a, b, c, d, k);
+                        transformPoint(a, b, c, d, tx, ty, k + 5);
+                    }
+                    break;
+                case 'z':
+                case 'Z':
+                    break;
+                default:
+                    for (int k = start; k + 2 <= end; k += 2) {
+                        // The first moveto of a path is relative to the origin, so it is a point.
+                        if (i == 0 && k == start && command == 'm') {
+                            transformPoint(a, b, c, d, e, f, k);
+                        } else {
+                            transformPoint(a, b, c, d, tx, ty, k);
+                        }
+                    }
+                    break;
+            }
+        }
+    }
+
+    private void transformPoint(float a, float b, float c, float d, float e, float f, int index) {
+        float x = mCoords[index];
+        float y = mCoords[index + 1];
+        mCoords[index] = x * a + y * c + e;
+        mCoords[index + 1] = x * b + y * d + f;
+    }
+
+    /**
+     * Map the ellipse of an arc (rx ry x-axis-rotation large-arc-flag sweep-flag) by the matrix.
+     */
+    private void transformArc(float a, float b, float c, float d, int index) {
+        float rx = mCoords[index];
+        float ry = mCoords[index + 1];
+        float rotation = mCoords[index + 2];
+        float determinant = a * d - b * c;
+        if (b == 0 && c == 0 && (rotation % 180 == 0 || Math.abs(a) == Math.abs(d))) {
+            // A simple scale keeps the axes of the ellipse.
+            mCoords[index] = Math.abs(a) * rx;
+            mCoords[index + 1] = Math.abs(d) * ry;
+            mCoords[index + 2] = determinant < 0 ? -rotation : rotation;
+        } else {
+            // The transformed ellipse is K * unit circle, K = M * R(rotation) * S(rx, ry). Its
+            // radius and axes are the square root of eigenvalues and the eigenvectors of K * K'.
+            double radians = Math.toRadians(rotation);
+            double cos = Math.cos(radians);
+            double sin = Math.sin(radians);
+            double k00 = (a * cos + c * sin) * rx;
+            double k01 = (-a * sin + c * cos) * ry;
+            double k10 = (b * cos + d * sin) * rx;
+            double k11 = (-b * sin + d * cos) * ry;
+            double s00 = k00 * k00 + k01 * k01;
+            double s01 = k00 * k10 + k01 * k11;
+            double s11 = k10 * k10 + k11 * k11;
+            double mean = (s00 + s11) / 2;
+            double delta = Math.hypot((s00 - s11) / 2, s01);
+            mCoords[index] = (float) Math.sqrt(mean + delta);
+            mCoords[index + 1] = (float) Math.sqrt(Math.max(mean - delta, 0));
+            mCoords[index + 2] = (float) Math.toDegrees(Math.atan2(2 * s01, s00 - s11) / 2);
+        }
+        // A mirror transform reverses the sweep direction.
+        if (determinant < 0) {
+            mCoords[index + 4] = mCoords[index + 4] != 0 ? 0 : 1;
+        }
+    }
+
+    /**
+     * Convert all the commands to absolute commands.
+     */
+    public void toAbsolute() {
+        convert(true);
+    }
+
+    /**
+     * Convert all the commands to relative commands.
+     */
+    public void toRelative() {
+        convert(false);
+    }
+
+    private void convert(boolean absolute) {
+        float currentX = 0;
+        float currentY = 0;
+        float startX = 0;
+        float startY = 0;
+        for (int i = 0; i < mCommandCount; i++) {
+            char command = (char) mCommands[i];
+            boolean relative = Character.isLowerCase(command);
+            int start = mOffsets[i];
+            int end = i + 1 < mCommandCount ? mOffsets[i + 1] : mCoordCount;
+            char upper = Character.toUpperCase(command);
+            mCommands[i] = (byte) (absolute ? upper : Character.toLowerCase(command));
+            if (upper == 'Z') {
+                currentX = startX;
+                currentY = startY;
+                continue;
+            }
+            int stride = getStride(upper);
+            for (int k = start; k + stride <= end; k += stride) {
+                if (upper == 'H') {
+                    float x = relative ? mCoords[k] + currentX : mCoords[k];
+                    mCoords[k] = absolute ? x : x - currentX;
+                    currentX = x;
+                    continue;
+                }
+                if (upper == 'V') {
+                    float y = relative ? mCoords[k] + currentY : mCoords[k];
+                    mCoords[k] = absolute ? y : y - currentY;
+                    currentY = y;
+                    continue;
+                }
+                // All the points in a segment are relative to the start point of the segment.
+                int first = upper == 'A' ? k + 5 : k;
+                float endX = currentX;
+                float endY = currentY;
+                for (int p = first; p < k + stride; p += 2) {
+                    float x = relative ? mCoords[p] + currentX : mCoords[p];
+                    float y = relative ? mCoords[p + 1] + currentY : mCoords[p + 1];
+                    mCoords[p] = absolute ? x : x - currentX;
+                    mCoords[p + 1] = absolute ? y : y - currentY;
+                    endX = x;
+                    endY = y;
+                }
+                currentX = endX;
+                currentY = endY;
+                if (upper == 'M' && k == start) {
+                    startX = currentX;
+                    startY = currentY;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrite the horizontal and vertical line commands to the line commands, a matrix with rotation
+     * or skew would move them out of the axes.
+     */
+    private void expandHorizontalAndVertical() {
+        boolean found = false;
+        for (int i = 0; i < mCommandCount && !found; i++) {
+            char upper = Character.toUpperCase((char) mCommands[i]);
+            found = upper == 'H' || upper == 'V';
+        }
+        if (!found) {
+            return;
+        }
+        PathData source = new PathData(this);
+        clear();
+        float[] coords = source.mCoords;
+        float currentX = 0;
+        float currentY = 0;
+        float startX = 0;
+        float startY = 0;
+        for (int i = 0; i < source.mCommandCount; i++) {
+            char command = (char) source.mCommands[i];
+            boolean relative = Character.isLowerCase(command);
+            char upper = Character.toUpperCase(command);
+            int start = source.mOffsets[i];
+            int end = i + 1 < source.mCommandCount ? source.mOffsets[i + 1] : source.mCoordCount;
+            if (upper == 'H' || upper == 'V') {
+                addCommand(relative ? 'l' : 'L');
+                ensureCoordCapacity((end - start) * 2);
+                for (int k = start; k < end; k++) {
+                    float x = upper == 'H' ? coords[k] : (relative ? 0 : currentX);
+                    float y = upper == 'V' ? coords[k] : (relative ? 0 : currentY);
+                    mCoords[mCoordCount++] = x;
+                    mCoords[mCoordCount++] = y;
+                    currentX = relative ? currentX + x : x;
+                    currentY = relative ? currentY + y : y;
+                }
+                continue;
+            }
+            addCommand(command, coords, start, end - start);
+            if (upper == 'Z') {
+                currentX = startX;
+                currentY = startY;
+                continue;
+            }
+            int stride = getStride(upper);
+            for (int k = start; k + stride <= end; k += stride) {
+                float x = coords[k + stride - 2];
+                float y = coords[k + stride - 1];
+                currentX = relative ? currentX + x : x;
+                currentY = relative ? currentY + y : y;
+                if (upper == 'M' && k == start) {
+                    startX = currentX;
+                    startY = currentY;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the count of parameters consumed by one segment of the command.
+     */
+    public static int getStride(char command) {
+        switch (command) {
+            case 'm':
+            case 'M':
+            case 'l':
+            case 'L':
+            case 't':
+            case 'T':
+                return 2;
+            case 'h':
+            case 'H':
+            case 'v':
+            case 'V':
+                return 1;
+            case 'c':
+            case 'C':
+                return 6;
+            case 's':
+            case 'S':
+            case 'q':
+            case 'Q':
+                return 4;
+            case 'a':
+            case 'A':
+                return 7;
+            default:
+                return 0;
+        }
+    }
+
+    private void ensureCommandCapacity() {
+        if (mCommandCount == mCommands.length) {
+            mCommands = Arrays.copyOf(mCommands, mCommandCount << 1);
+            mOffsets = Arrays.copyOf(mOffsets, mCommandCount << 1);
+        }
+    }
+
+    private void ensureCoordCapacity(int increment) {
+        int required = mCoordCount + increment;
+        if (required > mCoords.length) {
+            mCoords = Arrays.copyOf(mCoords, Math.max(required, mCoords.length << 1));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mCommandCount) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return PathDataSerializer.toString(this);
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.github.megatronking.svg.generator.utils;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Write the {@link PathData} as a compact "d" string in linear time. The numbers are written with
+ * the fewest digits which still read back to the same float, leading zeros are dropped, and
+ * separators or repeated commands are omitted wherever the path grammar allows.
+ */
+
+public class PathDataSerializer {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final double MAX_EXACT_DOUBLE = 1L << 53;
+
+    // Beyond this, integral floats are written by the platform.
+    private static final float MAX_PLAIN_INTEGER = 1e15f;
+
+    // A float never needs more chars than this, including the sign and the exponent.
+    private static final int MAX_FLOAT_LENGTH = 32;
+
+    public static String toString(PathData pathData) {
+        StringBuilder sb = new StringBuilder(pathData.getCoordCount() * 5 + pathData.size());
+        try {
+            write(pathData, sb);
+        } catch (IOException e) {
+            // StringBuilder never throws it.
+        }
+        return sb.toString();
+    }
+
+    public static void write(PathData pathData, Appendable out) throws IOException {
+        char[] buffer = new char[MAX_FLOAT_LENGTH];
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        float[] coords = pathData.getCoords();
+        char previousCommand = 0;
+        boolean afterNumber = false;
+        boolean previousHasDot = false;
+        for (int i = 0; i < pathData.size(); i++) {
+            char command = pathData.getCommand(i);
+            int start = pathData.getParamOffset(i);
+            int count = pathData.getParamCount(i);
+            if (count == 0 || !isImplicit(previousCommand, command)) {
+                out.append(command);
+                afterNumber = false;
+                previousCommand = command;
+            }
+            for (int k = 0; k < count; k++) {
+                int length = format(coords[start + k], buffer);
+                char first = buffer[0];
+                // A '-' always starts a new number, and so does a '.' after a number with a dot.
+                if (afterNumber && first != '-' && !(first == '.' && previousHasDot)) {
+                    out.append((k & 1) == 1 ? ',' : ' ');
+                }
+                out.append(chars, 0, length);
+                afterNumber = true;
+                previousHasDot = false;
+                for (int j = 0; j < length; j++) {
+                    if (buffer[j] == 'E') {
+                        previousHasDot = false;
+                        break;
+                    }
+                    if (buffer[j] == '.') {
+                        previousHasDot = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The command letter can be omitted if it repeats the previous command, or it is a line
+     * following a move, which is implied by the grammar.
+     */
+    private static boolean isImplicit(char previousCommand, char command) {
+        switch (command) {
+            case 'm':
+            case 'M':
+            case 'z':
+            case 'Z':
+                return false;
+            case 'l':
+                return previousCommand == 'l' || previousCommand == 'm';
+            case 'L':
+                return previousCommand == 'L' || previousCommand == 'M';
+            default:
+                return previousCommand == command;
+        }
+    }
+
+    /**
+     * @return the shortest string which reads back to the same float, without leading zeros.
+     */
+    public static String formatFloat(float value) {
+        char[] buffer = new char[MAX_FLOAT_LENGTH];
+        return new String(buffer, 0, format(value, buffer));
+    }
+
+    public static void writeFloat(float value, Appendable out) throws IOException {
+        char[] buffer = new char[MAX_FLOAT_LENGTH];
+        out.append(CharBuffer.wrap(buffer), 0, format(value, buffer));
+    }
+
+    private static int format(float value, char[] buffer) {
+        if (value == 0) {
+            buffer[0] = '0';
+            return 1;
+        }
+        float abs = Math.abs(value);
+        if (Float.isNaN(value) || Float.isInfinite(value) || abs >= MAX_PLAIN_INTEGER) {
+            return copy(Float.toString(value), buffer, 0);
+        }
+        int length = 0;
+        if (value < 0) {
+            buffer[length++] = '-';
+        }
+        if (abs == (long) abs) {
+            return writeDecimal((long) abs, 0, buffer, length);
+        }
+        // Try more and more fraction digits until the decimal reads back to the same float. The
+        // decimal is exact as a double, and rounding it to the float is only ambiguous when the
+        // double lands exactly on the midpoint of two floats.
+        for (int digits = 1; digits < POWERS_OF_TEN.length; digits++) {
+            double scaled = Math.rint(abs * POWERS_OF_TEN[digits]);
+            if (scaled > MAX_EXACT_DOUBLE) {
+                break;
+            }
+            double candidate = scaled / POWERS_OF_TEN[digits];
+            if ((float) candidate == abs && candidate >= Float.MIN_NORMAL
+                    && (Double.doubleToRawLongBits(candidate) & 0x1FFFFFFFL) != 0x10000000L) {
+                return writeDecimal((long) scaled, digits, buffer, length);
+            }
+        }
+        return copy(Float.toString(value), buffer, 0);
+    }
+
+    private static int writeDecimal(long scaled, int fractionDigits, char[] buffer, int offset) {
+        while (fractionDigits > 0 && scaled % 10 == 0) {
+            scaled /= 10;
+            fractionDigits--;
+        }
+        int digitCount = 1;
+        for (long v = scaled / 10; v > 0; v /= 10) {
+            digitCount++;
+        }
+        // Fill from the right, zeros are padded if there are no integer digits.
+        int columns = Math.max(digitCount, fractionDigits);
+        int length = offset + columns + (fractionDigits > 0 ? 1 : 0);
+        int position = length;
+        for (int i = 0; i < columns; i++) {
+            buffer[--position] = (char) ('0' + scaled % 10);
+            scaled /= 10;
+            if (i + 1 == fractionDigits) {
+                buffer[--position] = '.';
+            }
+        }
+        return length;
+    }
+
+    private static int copy(String s, char[] buffer, int offset) {
+        s.getChars(0, s.length(), buffer, offset);
+        return offset + s.length();
+    }
+
+}
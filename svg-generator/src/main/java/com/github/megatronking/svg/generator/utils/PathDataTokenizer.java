@@ -0,0 +1,211 @@
+package com.github.megatronking.svg.generator.utils;
+
+/**
+ * A cursor based tokenizer of the "d" attribute. It walks the characters only once and parses
+ * the numbers in place, so no intermediate strings are created for commands or numbers.
+ */
+
+public class PathDataTokenizer {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // The mantissa must stay exactly representable as a double.
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // The maximum digits could be accumulated into a long without overflow.
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    private CharSequence mPathData;
+    private int mLength;
+    private int mPosition;
+
+    public PathDataTokenizer() {
+    }
+
+    public PathDataTokenizer(CharSequence pathData) {
+        reset(pathData);
+    }
+
+    /**
+     * Restart the tokenizer on another path data, the tokenizer can be reused in this way.
+     */
+    public void reset(CharSequence pathData) {
+        mPathData = pathData;
+        mLength = pathData == null ? 0 : pathData.length();
+        mPosition = 0;
+    }
+
+    /**
+     * Read the next command and put all its parameters into the buffer. The buffer will be cleared
+     * before reading.
+     *
+     * @param params the buffer to receive the parameters.
+     * @return the command, or 0 if there are no more commands.
+     */
+    public char nextCommand(FloatArray params) {
+        params.clear();
+        skipSeparators();
+        if (mPosition >= mLength) {
+            return 0;
+        }
+        char command = mPathData.charAt(mPosition);
+        if (!isCommand(command)) {
+            throw new RuntimeException("error in parsing \"" + mPathData + "\", unexpected '"
+                    + command + "' at " + mPosition);
+        }
+        mPosition++;
+        boolean isArc = command == 'a' || command == 'A';
+        while (true) {
+            skipSeparators();
+            if (mPosition >= mLength || isCommand(mPathData.charAt(mPosition))) {
+                break;
+            }
+            int index = params.size() % 7;
+            if (isArc && (index == 3 || index == 4)) {
+                params.add(nextFlag());
+            } else {
+                params.add(nextFloat());
+            }
+        }
+        return command;
+    }
+
+    private void skipSeparators() {
+        while (mPosition < mLength) {
+            char c = mPathData.charAt(mPosition);
+            if (c != ' ' && c != ',' && c != '\t' && c != '\n' && c != '\r' && c != '\f') {
+                break;
+            }
+            mPosition++;
+        }
+    }
+
+    private float nextFlag() {
+        char c = mPathData.charAt(mPosition);
+        if (c != '0' && c != '1') {
+            throw new RuntimeException("error in parsing \"" + mPathData + "\", invalid arc flag at "
+                    + mPosition);
+        }
+        mPosition++;
+        return c - '0';
+    }
+
+    /**
+     * Parse a number starting at the cursor. A number ends at the first character which can not
+     * be a part of it, so a '-' or a second '.' starts the next number without any separator.
+     */
+    private float nextFloat() {
+        final int start = mPosition;
+        int pos = start;
+        boolean negative = false;
+        char c = mPathData.charAt(pos);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            pos++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean exact = true;
+        boolean hasDigits = false;
+
+        // The integer part.
+        for (; pos < mLength; pos++) {
+            c = mPathData.charAt(pos);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            hasDigits = true;
+            if (mantissa != 0 || c != '0') {
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                } else {
+                    exact = false;
+                    exponent++;
+                }
+            }
+        }
+        // The fraction part.
+        if (pos < mLength && mPathData.charAt(pos) == '.') {
+            pos++;
+            for (; pos < mLength; pos++) {
+                c = mPathData.charAt(pos);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                hasDigits = true;
+                if (mantissa != 0 || c != '0') {
+                    if (digits < MAX_MANTISSA_DIGITS) {
+                        mantissa = mantissa * 10 + (c - '0');
+                        digits++;
+                        exponent--;
+                    } else {
+                        exact = false;
+                    }
+                } else {
+                    exponent--;
+                }
+            }
+        }
+        if (!hasDigits) {
+            throw new RuntimeException("error in parsing \"" + mPathData + "\", invalid number at "
+                    + start);
+        }
+        // The exponent part, the 'e' or 'E' belongs to the number only if it is followed by digits.
+        if (pos < mLength && (mPathData.charAt(pos) == 'e' || mPathData.charAt(pos) == 'E')) {
+            int expPos = pos + 1;
+            boolean negativeExp = false;
+            if (expPos < mLength && (mPathData.charAt(expPos) == '-' || mPathData.charAt(expPos) == '+')) {
+                negativeExp = mPathData.charAt(expPos) == '-';
+                expPos++;
+            }
+            if (expPos < mLength && Character.isDigit(mPathData.charAt(expPos))) {
+                int exp = 0;
+                for (; expPos < mLength; expPos++) {
+                    c = mPathData.charAt(expPos);
+                    if (c < '0' || c > '9') {
+                        break;
+                    }
+                    if (exp < 10000) {
+                        exp = exp * 10 + (c - '0');
+                    }
+                }
+                exponent += negativeExp ? -exp : exp;
+                pos = expPos;
+            } else {
+                throw new RuntimeException("error in parsing \"" + mPathData + "\", invalid exponent at "
+                        + pos);
+            }
+        }
+        mPosition = pos;
+
+        if (mantissa == 0) {
+            return negative ? -0f : 0f;
+        }
+        if (exact && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            // Both the mantissa and the power of ten are exact doubles, so the double result is
+            // correctly rounded. Rounding it to a float again is only ambiguous when the double
+            // lands exactly on the midpoint of two floats.
+            double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent]
+                    : mantissa / POWERS_OF_TEN[-exponent];
+            if (value >= Float.MIN_NORMAL && value <= Float.MAX_VALUE
+                    && (Double.doubleToRawLongBits(value) & 0x1FFFFFFFL) != 0x10000000L) {
+                return (float) (negative ? -value : value);
+            }
+        }
+        // Rare slow path.
+        return Float.parseFloat(mPathData.subSequence(start, pos).toString());
+    }
+
+    private static boolean isCommand(char c) {
+        // Note that 'e' or 'E' are not valid path commands, but could be
+        // used for floating point numbers' scientific notation.
+        return ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) && c != 'e' && c != 'E';
+    }
+
+}
@@ -7,7 +7,7 @@
 
 package com.github.megatronking.svg.generator.vector;
 
-import org.dom4j.DocumentException;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Signals that an vector exception of some sort has occurred. This
@@ -17,7 +17,7 @@ import org.dom4j.DocumentException;
  * @author Megatron King
  * @since 2016/9/5 13:55
  */
-public class VectorParseException extends DocumentException {
+public class VectorParseException extends XmlParseException {
 
     /**
      * Constructs an {@code VectorException} with a default message
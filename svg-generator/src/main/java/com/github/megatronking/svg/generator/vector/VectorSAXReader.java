@@ -5,12 +5,8 @@ import com.github.megatronking.svg.generator.vector.model.Vector;
 import com.github.megatronking.svg.generator.vector.model.VectorConstants;
 import com.github.megatronking.svg.generator.vector.parser.VectorParserImpl;
 import com.github.megatronking.svg.generator.xml.SimpleImplementSAXReader;
-
-import org.dom4j.Document;
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-
-import java.util.List;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * The vector structure is organized as a tree. Each node can be a group node, or a path.
@@ -28,14 +24,21 @@ import java.util.List;
 
 public class VectorSAXReader extends SimpleImplementSAXReader<Vector> {
 
-    protected Vector parseDocument(Document document) throws DocumentException {
-        Element vectorElement = document.getRootElement();
+    public VectorSAXReader() {
+        super();
+    }
+
+    public VectorSAXReader(boolean streaming) {
+        super(streaming);
+    }
+
+    @Override
+    protected Vector parseRootElement(XmlElement vectorElement) throws XmlParseException {
         // simple validate
         if (!VectorConstants.TAG_VECTOR.equals(vectorElement.getName())) {
             throw new VectorParseException("The root element must be " + VectorConstants.TAG_VECTOR);
         }
-        List<?> childElements = vectorElement.elements();
-        if (childElements == null || childElements.isEmpty()) {
+        if (!vectorElement.elements().iterator().hasNext()) {
             throw new VectorParseException("There is no child node in the vector");
         }
 
@@ -1,5 +1,7 @@
 package com.github.megatronking.svg.generator.vector.model;
 
+import com.github.megatronking.svg.generator.utils.PathData;
+
 /**
  * The path element model in the vector xml.
  *
@@ -13,7 +15,7 @@ public class Path {
     }
 
     public String name;
-    public String pathData;
+    public PathData pathData;
 
     public int fillColor;
     public float fillAlpha;
@@ -2,8 +2,7 @@ package com.github.megatronking.svg.generator.vector.parser;
 
 
 import com.github.megatronking.svg.generator.vector.model.Path;
-
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
 
 /**
  * Build clip-path's field values from attributes of the element.
@@ -15,7 +14,7 @@ import org.dom4j.Element;
 public class ClipPathAttributeParser extends PathAttributeParser {
 
     @Override
-    public void parse(Element element, Path path) {
+    public void parse(XmlElement element, Path path) {
         // The clip-path node is the same as the path node,
         // so we don't need do anything here.
         super.parse(element, path);
@@ -4,8 +4,7 @@ package com.github.megatronking.svg.generator.vector.parser;
 import com.github.megatronking.svg.generator.vector.model.Group;
 import com.github.megatronking.svg.generator.vector.model.VectorConstants;
 import com.github.megatronking.svg.generator.xml.CommonAbstractAttributeParser;
-
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
 
 /**
  * Build group's field values from attributes of the element.
@@ -17,7 +16,7 @@ import org.dom4j.Element;
 public class GroupAttributeParser extends CommonAbstractAttributeParser<Group> {
 
     @Override
-    public void parse(Element element, Group group) {
+    public void parse(XmlElement element, Group group) {
         group.name = parseString(element, VectorConstants.ATTR_NAME);
         group.pivotX = parseFloat(element, VectorConstants.ATTR_PIVOTX);
         group.pivotY = parseFloat(element, VectorConstants.ATTR_PIVOTY);
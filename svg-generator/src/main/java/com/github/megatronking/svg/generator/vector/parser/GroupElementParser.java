@@ -1,13 +1,13 @@
 package com.github.megatronking.svg.generator.vector.parser;
 
 
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
 import com.github.megatronking.svg.generator.vector.model.Group;
 import com.github.megatronking.svg.generator.vector.model.Path;
 import com.github.megatronking.svg.generator.vector.model.VectorConstants;
 import com.github.megatronking.svg.generator.xml.ChildrenElementParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build groups's groups and paths values from the children of the element.
@@ -23,7 +23,7 @@ public class GroupElementParser extends ChildrenElementParser<Group> {
     }
 
     @Override
-    protected void parseChild(Element childElement, Group group) throws DocumentException {
+    protected void parseChild(XmlElement childElement, Group group) throws XmlParseException {
         if (VectorConstants.TAG_GROUP.equals(childElement.getName())) {
             Group childGroup = new Group(group);
             group.children.add(childGroup);
@@ -35,7 +35,7 @@ public class GroupElementParser extends ChildrenElementParser<Group> {
             VectorParserImpl.PATH_ATTRIBUTE_PARSER.parse(childElement, childPath);
         }
         if (VectorConstants.TAG_CLIP_PATH.equals(childElement.getName())) {
-            Path childPath = new Path(group);
+            Path childPath = new ClipPath(group);
             group.children.add(childPath);
             VectorParserImpl.CLIP_PATH_ATTRIBUTE_PARSER.parse(childElement, childPath);
         }
@@ -1,11 +1,11 @@
 package com.github.megatronking.svg.generator.vector.parser;
 
 
+import com.github.megatronking.svg.generator.utils.PathData;
 import com.github.megatronking.svg.generator.vector.model.Path;
 import com.github.megatronking.svg.generator.vector.model.VectorConstants;
 import com.github.megatronking.svg.generator.xml.CommonAbstractAttributeParser;
-
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
 
 /**
  * Build path's field values from attributes of the element.
@@ -17,10 +17,10 @@ import org.dom4j.Element;
 public class PathAttributeParser extends CommonAbstractAttributeParser<Path> {
 
     @Override
-    public void parse(Element element, Path path) {
+    public void parse(XmlElement element, Path path) {
         path.name = parseString(element, VectorConstants.ATTR_NAME);
         path.fillColor = parseColor(element, VectorConstants.ATTR_FILL_COLOR);
-        path.pathData = parseString(element, VectorConstants.ATTR_PATH_DATA);
+        path.pathData = PathData.parse(parseString(element, VectorConstants.ATTR_PATH_DATA));
         path.fillAlpha = parseFloat(element, VectorConstants.ATTR_FILL_ALPHA, 1.0f);
         path.fillType = parseString(element, VectorConstants.ATTR_FILL_TYPE);
         path.strokeLineCap = parseString(element, VectorConstants.ATTR_STROKE_LINE_CAP, "butt");
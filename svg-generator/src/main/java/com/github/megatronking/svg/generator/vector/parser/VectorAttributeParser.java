@@ -4,8 +4,7 @@ package com.github.megatronking.svg.generator.vector.parser;
 import com.github.megatronking.svg.generator.vector.model.Vector;
 import com.github.megatronking.svg.generator.vector.model.VectorConstants;
 import com.github.megatronking.svg.generator.xml.CommonAbstractAttributeParser;
-
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
 
 /**
  * Build vector's field values from attributes of the element.
@@ -17,7 +16,7 @@ import org.dom4j.Element;
 public class VectorAttributeParser extends CommonAbstractAttributeParser<Vector> {
 
     @Override
-    public void parse(Element element, Vector vector) {
+    public void parse(XmlElement element, Vector vector) {
         vector.name = parseString(element, VectorConstants.ATTR_NAME);
         vector.alpha = parseFloat(element, VectorConstants.ATTR_ALPHA, 1.0f);
         vector.width = parseString(element, VectorConstants.ATTR_WIDTH);
@@ -1,14 +1,14 @@
 package com.github.megatronking.svg.generator.vector.parser;
 
 
+import com.github.megatronking.svg.generator.vector.model.ClipPath;
 import com.github.megatronking.svg.generator.vector.model.Group;
 import com.github.megatronking.svg.generator.vector.model.Path;
 import com.github.megatronking.svg.generator.vector.model.Vector;
 import com.github.megatronking.svg.generator.vector.model.VectorConstants;
 import com.github.megatronking.svg.generator.xml.ChildrenElementParser;
-
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
+import com.github.megatronking.svg.generator.xml.XmlElement;
+import com.github.megatronking.svg.generator.xml.XmlParseException;
 
 /**
  * Build vector's groups and paths values from the children of the element.
@@ -24,7 +24,7 @@ public class VectorElementParser extends ChildrenElementParser<Vector> {
     }
 
     @Override
-    protected void parseChild(Element childElement, Vector vector) throws DocumentException {
+    protected void parseChild(XmlElement childElement, Vector vector) throws XmlParseException {
         Group rootGroup = new Group(null);
         if (VectorConstants.TAG_GROUP.equals(childElement.getName())) {
             Group childGroup = new Group(rootGroup);
@@ -37,7 +37,7 @@ public class VectorElementParser extends ChildrenElementParser<Vector> {
             VectorParserImpl.PATH_ATTRIBUTE_PARSER.parse(childElement, childPath);
         }
         if (VectorConstants.TAG_CLIP_PATH.equals(childElement.getName())) {
-            Path childPath = new Path(rootGroup);
+            Path childPath = new ClipPath(rootGroup);
             vector.children.add(childPath);
             VectorParserImpl.CLIP_PATH_ATTRIBUTE_PARSER.parse(childElement, childPath);
         }
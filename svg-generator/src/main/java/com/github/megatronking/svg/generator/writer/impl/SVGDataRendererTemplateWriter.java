@@ -0,0 +1,182 @@
+package com.github.megatronking.svg.generator.writer.impl;
+
+import com.github.megatronking.svg.generator.render.VectorDataRenderer;
+import com.github.megatronking.svg.generator.utils.Dimen;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+import com.github.megatronking.svg.generator.writer.JavaClassWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+
+/**
+ * Write a renderer which holds the tables of {@link VectorDataRenderer} and hands them to
+ * SVGInterpreter. The tables are string constants, which are cheaper than array initializers in
+ * both the dex and the class loading.
+ */
+
+public class SVGDataRendererTemplateWriter extends JavaClassWriter {
+
+    // A string constant is limited to 65535 bytes in the class file, and a char takes 3 bytes at most.
+    private static final int CHUNK_MAX_CHARS = 16384;
+
+    private static final int LINE_MAX_CHARS = 32;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private VectorDataRenderer mRenderer;
+    private Vector mVector;
+
+    public SVGDataRendererTemplateWriter(VectorDataRenderer renderer, Vector vector) {
+        this.mRenderer = renderer;
+        this.mVector = vector;
+        setClassRelation("SVGRenderer", null);
+    }
+
+    @Override
+    protected void writeImports(BufferedWriter bw) throws IOException {
+        super.writeImports(bw);
+        bw.write("import android.content.Context;");
+        bw.newLine();
+        bw.write("import android.graphics.Canvas;");
+        bw.newLine();
+        bw.write("import android.graphics.ColorFilter;");
+        bw.newLine();
+        bw.newLine();
+        bw.write("import com.github.megatronking.svg.support.SVGInterpreter;");
+        bw.newLine();
+        bw.write("import com.github.megatronking.svg.support.SVGRenderer;");
+        bw.newLine();
+        bw.newLine();
+    }
+
+    @Override
+    protected void writeClassComment(BufferedWriter bw) throws IOException {
+        super.writeClassComment(bw);
+        bw.write("/**");
+        bw.newLine();
+        bw.write(" * AUTO-GENERATED FILE.  DO NOT MODIFY.");
+        bw.newLine();
+        bw.write(" * ");
+        bw.newLine();
+        bw.write(" * This class was automatically generated by the");
+        bw.newLine();
+        bw.write(" * SVG-Generator. It should not be modified by hand.");
+        bw.newLine();
+        bw.write(" */");
+    }
+
+    @Override
+    protected void writeFields(BufferedWriter bw) throws IOException {
+        bw.newLine();
+        writeTable(bw, "char[] OPS", "decodeOps", mRenderer.getOps().toCharArray());
+        float[] coords = mRenderer.getCoords();
+        char[] chars = new char[coords.length * 2];
+        for (int i = 0; i < coords.length; i++) {
+            int bits = Float.floatToIntBits(coords[i]);
+            chars[i * 2] = (char) (bits >>> 16);
+            chars[i * 2 + 1] = (char) bits;
+        }
+        writeTable(bw, "float[] COORDS", "decodeCoords", chars);
+    }
+
+    private void writeTable(BufferedWriter bw, String field, String decoder, char[] chars)
+            throws IOException {
+        bw.write(HEAD_SPACE + "private static final " + field + " = SVGInterpreter." + decoder + "(");
+        StringBuilder sb = new StringBuilder();
+        int chunkCount = Math.max(1, (chars.length + CHUNK_MAX_CHARS - 1) / CHUNK_MAX_CHARS);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int chunkStart = chunk * CHUNK_MAX_CHARS;
+            int chunkEnd = Math.min(chunkStart + CHUNK_MAX_CHARS, chars.length);
+            if (chunk > 0) {
+                bw.write(",");
+            }
+            // The lines of a chunk are concatenated into one constant by the compiler.
+            int lineStart = chunkStart;
+            do {
+                int lineEnd = Math.min(lineStart + LINE_MAX_CHARS, chunkEnd);
+                sb.setLength(0);
+                for (int i = lineStart; i < lineEnd; i++) {
+                    appendChar(sb, chars[i]);
+                }
+                if (lineStart > chunkStart) {
+                    bw.write(" +");
+                }
+                bw.newLine();
+                bw.write(HEAD_SPACE + HEAD_SPACE + HEAD_SPACE + "\"" + sb + "\"");
+                lineStart = lineEnd;
+            } while (lineStart < chunkEnd);
+        }
+        bw.write(");");
+        bw.newLine();
+    }
+
+    private void appendChar(StringBuilder sb, char c) {
+        switch (c) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            default:
+                if (c >= 0x20 && c < 0x7F) {
+                    sb.append(c);
+                } else {
+                    sb.append("\\u").append(HEX_DIGITS[(c >> 12) & 0xF]).append(HEX_DIGITS[(c >> 8) & 0xF])
+                            .append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+                }
+                break;
+        }
+    }
+
+    @Override
+    protected void writeConstructMethods(BufferedWriter bw) throws IOException {
+        bw.newLine();
+        bw.write(HEAD_SPACE + "public " + mClassSimpleName + "(Context context) {");
+        bw.newLine();
+        bw.write(HEAD_SPACE + HEAD_SPACE + "super(context);");
+        bw.newLine();
+        bw.write(HEAD_SPACE + HEAD_SPACE + "mAlpha = " + mVector.alpha + "f;");
+        bw.newLine();
+        bw.write(HEAD_SPACE + HEAD_SPACE + "mWidth = " + getDimenSize(mVector.width) + ";");
+        bw.newLine();
+        bw.write(HEAD_SPACE + HEAD_SPACE + "mHeight = " + getDimenSize(mVector.height) + ";");
+        bw.newLine();
+        if (mRenderer.getMonochromeColor() != 0) {
+            bw.write(HEAD_SPACE + HEAD_SPACE + "mMonochromeColor = " + mRenderer.getMonochromeColor() + ";");
+            bw.newLine();
+        }
+        bw.write(HEAD_SPACE + "}");
+        bw.newLine();
+    }
+
+    @Override
+    protected void writeMethods(BufferedWriter bw) throws IOException {
+        bw.newLine();
+        bw.write(HEAD_SPACE + "@Override");
+        bw.newLine();
+        bw.write(HEAD_SPACE + "public void render(Canvas canvas, int w, int h, ColorFilter filter) {");
+        bw.newLine();
+        bw.write(HEAD_SPACE + HEAD_SPACE + "SVGInterpreter.render(this, canvas, w, h, filter, OPS, COORDS);");
+        bw.newLine();
+        bw.write(HEAD_SPACE + "}");
+        bw.newLine();
+    }
+
+    private String getDimenSize(String size) {
+        if (Dimen.isDip(size)) {
+            return "dip2px(" + Dimen.convert(size) + "f)";
+        } else if (Dimen.isPx(size)) {
+            return "(int)" + Dimen.convert(size) + "f";
+        } else {
+            return "0f";
+        }
+    }
+
+}
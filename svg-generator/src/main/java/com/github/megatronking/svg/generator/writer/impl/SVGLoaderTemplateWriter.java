@@ -12,6 +12,7 @@ public class SVGLoaderTemplateWriter extends JavaClassWriter {
 
     private String mPackageName;
     private List<String> mDrawableRendererList = new ArrayList<>();
+    private String mPackAsset;
 
     public SVGLoaderTemplateWriter(String packageName) {
         mPackageName = packageName;
@@ -22,6 +23,16 @@ public class SVGLoaderTemplateWriter extends JavaClassWriter {
         mDrawableRendererList.add(name);
     }
 
+    /**
+     * Load the drawables from a pack written by {@link SVGPackWriter} instead of the renderer
+     * classes, the names are the names of the icons then.
+     *
+     * @param packAsset The path of the pack in the assets.
+     */
+    public void setPackAsset(String packAsset) {
+        mPackAsset = packAsset;
+    }
+
     @Override
     protected void writeImports(BufferedWriter bw) throws IOException {
         super.writeImports(bw);
@@ -36,10 +47,16 @@ public class SVGLoaderTemplateWriter extends JavaClassWriter {
         bw.write("import android.util.LongSparseArray;");
         bw.newLine();
         bw.newLine();
-        bw.write("import com.github.megatronking.svg.support.SVGDrawable;");
-        bw.newLine();
+        if (mPackAsset == null) {
+            bw.write("import com.github.megatronking.svg.support.SVGDrawable;");
+            bw.newLine();
+        }
         bw.write("import com.github.megatronking.svg.support.SVGHelper;");
         bw.newLine();
+        if (mPackAsset != null) {
+            bw.write("import com.github.megatronking.svg.support.SVGPack;");
+            bw.newLine();
+        }
         bw.newLine();
     }
 
@@ -112,19 +129,48 @@ public class SVGLoaderTemplateWriter extends JavaClassWriter {
         bw.newLine();
         bw.write(HEAD_SPACE + HEAD_SPACE + "}");
         bw.newLine();
-        for (String name : mDrawableRendererList) {
-            bw.write(HEAD_SPACE + HEAD_SPACE + "add(context, R.drawable." + name + ", " +
-                    "SVGDrawable.SVGDrawableConstantState.create(new " + name + "(context)));");
-            bw.newLine();
+        if (mPackAsset != null) {
+            writePackLoading(bw);
+        } else {
+            for (String name : mDrawableRendererList) {
+                bw.write(HEAD_SPACE + HEAD_SPACE + "add(context, R.drawable." + name + ", " +
+                        "SVGDrawable.SVGDrawableConstantState.create(new " + name + "(context)));");
+                bw.newLine();
+            }
         }
         bw.write(HEAD_SPACE + "}");
         bw.newLine();
     }
 
+    private void writePackLoading(BufferedWriter bw) throws IOException {
+        // the icons are decoded when they are drawn, only the names are looked up here
+        bw.write(HEAD_SPACE + HEAD_SPACE + "SVGPack pack = SVGPack.open(context, \"" + mPackAsset + "\");");
+        bw.newLine();
+        bw.write(HEAD_SPACE + HEAD_SPACE + "if (pack == null) {");
+        bw.newLine();
+        bw.write(HEAD_SPACE + HEAD_SPACE + HEAD_SPACE + "return;");
+        bw.newLine();
+        bw.write(HEAD_SPACE + HEAD_SPACE + "}");
+        bw.newLine();
+        for (String name : mDrawableRendererList) {
+            bw.write(HEAD_SPACE + HEAD_SPACE + "add(context, R.drawable." + name + ", pack.getConstantState(\"" +
+                    name + "\"));");
+            bw.newLine();
+        }
+    }
+
     private void writeAddMethod(BufferedWriter bw) throws IOException {
         bw.newLine();
-        bw.write(HEAD_SPACE + "private static void add(Context context, int resId, SVGDrawable.SVGDrawableConstantState state) {");
+        bw.write(HEAD_SPACE + "private static void add(Context context, int resId, Drawable.ConstantState state) {");
         bw.newLine();
+        if (mPackAsset != null) {
+            bw.write(HEAD_SPACE + HEAD_SPACE + "if (state == null) {");
+            bw.newLine();
+            bw.write(HEAD_SPACE + HEAD_SPACE + HEAD_SPACE + "return;");
+            bw.newLine();
+            bw.write(HEAD_SPACE + HEAD_SPACE + "}");
+            bw.newLine();
+        }
         bw.write(HEAD_SPACE + HEAD_SPACE + "sPreloadedDrawables.put(SVGHelper.resKey(context, resId), state);");
         bw.newLine();
         bw.write(HEAD_SPACE + "}");
@@ -0,0 +1,210 @@
+package com.github.megatronking.svg.generator.writer.impl;
+
+import com.github.megatronking.svg.generator.render.ClipFlatteningPass;
+import com.github.megatronking.svg.generator.render.OcclusionCullingPass;
+import com.github.megatronking.svg.generator.render.PathDataExpander;
+import com.github.megatronking.svg.generator.render.StrokeOutliningPass;
+import com.github.megatronking.svg.generator.render.VectorDataRenderer;
+import com.github.megatronking.svg.generator.utils.Dimen;
+import com.github.megatronking.svg.generator.vector.model.Vector;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Write a set of icons into one binary pack, which is mapped and decoded lazily by the SVGPack of
+ * svg-support. All the numbers are big-endian.
+ *
+ * <pre>
+ * header:  int magic 'SVGP', int version, int icon count
+ * index:   one entry of {@link #ENTRY_SIZE} bytes per icon, sorted by the name:
+ *          int name offset, short name length, short flags, int data offset,
+ *          int opcode count, int coordinate count, float width, float height, float alpha,
+ *          int monochrome color (0 if the icon has several colors)
+ * names:   the ASCII names of the icons
+ * data:    the opcodes as chars and the coordinates as floats of every icon, see SVGInterpreter
+ * </pre>
+ */
+
+public class SVGPackWriter {
+
+    public static final int MAGIC = 0x53564750;
+    public static final int VERSION = 2;
+
+    public static final int HEADER_SIZE = 12;
+    public static final int ENTRY_SIZE = 36;
+
+    public static final int FLAG_WIDTH_DIP = 1;
+    public static final int FLAG_HEIGHT_DIP = 1 << 1;
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private final List<Icon> mIcons = new ArrayList<>();
+
+    private float mStrokeTolerance;
+    private boolean mFlattenClipPaths;
+    private boolean mCullOccludedPaths;
+    private boolean mMergeFills;
+    private float mArcTolerance = PathDataExpander.DEFAULT_ARC_TOLERANCE;
+
+    /**
+     * Outline the strokes into fills with this tolerance relative to the viewport, 0 to keep them.
+     */
+    public void setStrokeTolerance(float strokeTolerance) {
+        mStrokeTolerance = strokeTolerance;
+    }
+
+    /**
+     * Intersect the clip paths with the clipped paths at build time.
+     */
+    public void setFlattenClipPaths(boolean flattenClipPaths) {
+        mFlattenClipPaths = flattenClipPaths;
+    }
+
+    /**
+     * Drop the paths covered by the opaque paths drawn later, and union the adjacent opaque fills
+     * of the same color if mergeFills is true.
+     */
+    public void setCullOccludedPaths(boolean cullOccludedPaths, boolean mergeFills) {
+        mCullOccludedPaths = cullOccludedPaths;
+        mMergeFills = mergeFills;
+    }
+
+    /**
+     * Split the arcs into the fewest curves with this tolerance relative to the viewport.
+     */
+    public void setArcTolerance(float arcTolerance) {
+        mArcTolerance = arcTolerance;
+    }
+
+    /**
+     * Render the vector into the tables of the pack, it could be called from several threads.
+     *
+     * @param name The name of the icon, which is the name of its drawable resource.
+     */
+    public void addIcon(String name, Vector vector) {
+        VectorDataRenderer renderer = new VectorDataRenderer();
+        renderer.setArcTolerance(mArcTolerance);
+        if (mFlattenClipPaths) {
+            renderer.addPass(new ClipFlatteningPass());
+        }
+        if (mStrokeTolerance > 0) {
+            renderer.addPass(new StrokeOutliningPass(mStrokeTolerance));
+        }
+        if (mCullOccludedPaths) {
+            renderer.addPass(new OcclusionCullingPass(mMergeFills));
+        }
+        renderer.render(vector);
+        Icon icon = new Icon();
+        icon.name = name.getBytes(ASCII);
+        icon.ops = renderer.getOps();
+        icon.coords = renderer.getCoords();
+        icon.width = Dimen.convert(vector.width);
+        icon.height = Dimen.convert(vector.height);
+        icon.alpha = vector.alpha;
+        icon.monochromeColor = renderer.getMonochromeColor();
+        if (Dimen.isDip(vector.width)) {
+            icon.flags |= FLAG_WIDTH_DIP;
+        }
+        if (Dimen.isDip(vector.height)) {
+            icon.flags |= FLAG_HEIGHT_DIP;
+        }
+        synchronized (mIcons) {
+            mIcons.add(icon);
+        }
+    }
+
+    /**
+     * Write the pack of all the added icons.
+     *
+     * @throws IllegalArgumentException Two icons have the same name.
+     */
+    public void write(OutputStream os) throws IOException {
+        List<Icon> icons;
+        synchronized (mIcons) {
+            icons = new ArrayList<>(mIcons);
+        }
+        // The reader finds the icons by a binary search of the names.
+        Collections.sort(icons, new Comparator<Icon>() {
+            @Override
+            public int compare(Icon o1, Icon o2) {
+                return compareBytes(o1.name, o2.name);
+            }
+        });
+        // The search could find either of the icons of the same name.
+        for (int i = 1; i < icons.size(); i++) {
+            if (compareBytes(icons.get(i - 1).name, icons.get(i).name) == 0) {
+                throw new IllegalArgumentException("Duplicated icon named " + new String(icons.get(i).name, ASCII));
+            }
+        }
+
+        int nameOffset = HEADER_SIZE + icons.size() * ENTRY_SIZE;
+        int dataOffset = nameOffset;
+        for (Icon icon : icons) {
+            dataOffset += icon.name.length;
+        }
+
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(os));
+        try {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeInt(icons.size());
+            for (Icon icon : icons) {
+                dos.writeInt(nameOffset);
+                dos.writeShort(icon.name.length);
+                dos.writeShort(icon.flags);
+                dos.writeInt(dataOffset);
+                dos.writeInt(icon.ops.length());
+                dos.writeInt(icon.coords.length);
+                dos.writeFloat(icon.width);
+                dos.writeFloat(icon.height);
+                dos.writeFloat(icon.alpha);
+                dos.writeInt(icon.monochromeColor);
+                nameOffset += icon.name.length;
+                dataOffset += icon.ops.length() * 2 + icon.coords.length * 4;
+            }
+            for (Icon icon : icons) {
+                dos.write(icon.name);
+            }
+            for (Icon icon : icons) {
+                dos.writeChars(icon.ops);
+                for (float coord : icon.coords) {
+                    dos.writeFloat(coord);
+                }
+            }
+        } finally {
+            dos.close();
+        }
+    }
+
+    private static int compareBytes(byte[] b1, byte[] b2) {
+        int length = Math.min(b1.length, b2.length);
+        for (int i = 0; i < length; i++) {
+            if (b1[i] != b2[i]) {
+                return b1[i] - b2[i];
+            }
+        }
+        return b1.length - b2.length;
+    }
+
+    private static class Icon {
+
+        private byte[] name;
+        private String ops;
+        private float[] coords;
+        private int flags;
+        private float width;
+        private float height;
+        private float alpha;
+        private int monochromeColor;
+
+    }
+
+}
@@ -16,6 +16,7 @@ public class SVGRendererTemplateWriter extends JavaClassWriter {
     private static final int METHOD_RENDER_MAX_LINE = 1000;
 
     private List<SplitMethod> mRenderSplitMethods = new ArrayList<>();
+    private List<SplitMethod> mBuildSplitMethods = new ArrayList<>();
 
     private VectorRenderer mRenderer;
     private Vector mVector;
@@ -76,6 +77,10 @@ public class SVGRendererTemplateWriter extends JavaClassWriter {
         bw.newLine();
         bw.write(HEAD_SPACE + HEAD_SPACE + "mHeight = " + getDimenSize(mVector.height) + ";");
         bw.newLine();
+        if (mRenderer.getMonochromeColor() != 0) {
+            bw.write(HEAD_SPACE + HEAD_SPACE + "mMonochromeColor = " + mRenderer.getMonochromeColor() + ";");
+            bw.newLine();
+        }
         bw.write(HEAD_SPACE + "}");
         bw.newLine();
     }
@@ -83,6 +88,9 @@ public class SVGRendererTemplateWriter extends JavaClassWriter {
     @Override
     protected void writeMethods(BufferedWriter bw) throws IOException {
         writeMethodRender(bw);
+        if (mRenderer.isGeometryCached()) {
+            writeMethodBuildCachedPaths(bw);
+        }
     }
 
     private void writeMethodRender(BufferedWriter bw) throws IOException {
@@ -91,37 +99,58 @@ public class SVGRendererTemplateWriter extends JavaClassWriter {
         bw.newLine();
         bw.write(HEAD_SPACE + "public void render(Canvas canvas, int w, int h, ColorFilter filter) {");
         bw.newLine();
-        writeRendererContent(bw);
+        writeSplitContent(bw, mRenderer.renderResult(), "renderSplitMethod", "canvas, filter, scaleX, scaleY",
+                mRenderSplitMethods);
         bw.newLine();
         bw.write(HEAD_SPACE + "}");
         bw.newLine();
-        for (SplitMethod splitMethod : mRenderSplitMethods) {
-            bw.newLine();
-            bw.write(HEAD_SPACE + "private void renderSplitMethod" + splitMethod.index +
-                    "(Canvas canvas, ColorFilter filter, float scaleX, float scaleY) {");
-            bw.newLine();
-            bw.write(splitMethod.methodContent);
-            bw.newLine();
-            bw.write(HEAD_SPACE + "}");
-            bw.newLine();
-        }
+        writeSplitMethods(bw, mRenderSplitMethods, "renderSplitMethod",
+                "Canvas canvas, ColorFilter filter, float scaleX, float scaleY");
+    }
+
+    private void writeMethodBuildCachedPaths(BufferedWriter bw) throws IOException {
+        bw.newLine();
+        bw.write(HEAD_SPACE + "private void buildCachedPaths(float scaleX, float scaleY) {");
+        bw.newLine();
+        writeSplitContent(bw, mRenderer.cacheResult(), "buildSplitMethod", "scaleX, scaleY", mBuildSplitMethods);
+        bw.newLine();
+        bw.write(HEAD_SPACE + "}");
+        bw.newLine();
+        writeSplitMethods(bw, mBuildSplitMethods, "buildSplitMethod", "float scaleX, float scaleY");
     }
 
-    private void writeRendererContent(BufferedWriter bw) throws IOException {
-        String content = mRenderer.renderResult();
+    private void writeSplitContent(BufferedWriter bw, String content, String methodName, String arguments,
+                                   List<SplitMethod> splitMethods) throws IOException {
         int methodLineCount = calculateStringLineCount(content);
-        // not support split method when contains 'getSegment'
-        if (methodLineCount <= METHOD_RENDER_MAX_LINE || content.contains("getSegment")) {
+        if (methodLineCount <= METHOD_RENDER_MAX_LINE) {
             bw.write(content);
         } else {
             bw.write(substringByLineCount(content, 0, METHOD_RENDER_MAX_LINE));
             bw.newLine();
             for (int i = 1; i * METHOD_RENDER_MAX_LINE < methodLineCount; i++) {
-                bw.write(HEAD_SPACE + HEAD_SPACE + "renderSplitMethod" + i + "(canvas, filter, scaleX, scaleY);");
+                bw.write(HEAD_SPACE + HEAD_SPACE + methodName + i + "(" + arguments + ");");
                 bw.newLine();
                 int endLine = Math.min((i + 1) * METHOD_RENDER_MAX_LINE, methodLineCount);
-                mRenderSplitMethods.add(new SplitMethod(i, substringByLineCount(content, i * METHOD_RENDER_MAX_LINE, endLine)));
+                splitMethods.add(new SplitMethod(i, substringByLineCount(content, i * METHOD_RENDER_MAX_LINE, endLine)));
+            }
+        }
+    }
+
+    private void writeSplitMethods(BufferedWriter bw, List<SplitMethod> splitMethods, String methodName,
+                                   String parameters) throws IOException {
+        for (SplitMethod splitMethod : splitMethods) {
+            bw.newLine();
+            bw.write(HEAD_SPACE + "private void " + methodName + splitMethod.index + "(" + parameters + ") {");
+            bw.newLine();
+            // the local of the render method is not visible here
+            if (splitMethod.methodContent.contains("minScale")) {
+                bw.write(HEAD_SPACE + HEAD_SPACE + "final float minScale = Math.min(scaleX, scaleY);");
+                bw.newLine();
             }
+            bw.write(splitMethod.methodContent);
+            bw.newLine();
+            bw.write(HEAD_SPACE + "}");
+            bw.newLine();
         }
     }
 
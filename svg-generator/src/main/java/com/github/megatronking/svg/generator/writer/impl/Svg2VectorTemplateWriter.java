@@ -51,12 +51,12 @@ public class Svg2VectorTemplateWriter implements IBufferWriter {
                 writeSvgNodes(bw, group, indentCount);
             }
         } else {
-            String indent = "";
+            StringBuilder indent = new StringBuilder();
             for (int i = 0; i < indentCount; i++) {
-                indent += HEAD_INDENT;
+                indent.append(HEAD_INDENT);
             }
-            bw.write(indent);
-            bw.write(svgNode.convert2VectorXml(indent));
+            bw.write(indent.toString());
+            svgNode.convert2VectorXml(bw, indent.toString());
             bw.newLine();
         }
     }
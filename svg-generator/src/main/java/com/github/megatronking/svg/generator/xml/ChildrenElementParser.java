@@ -1,8 +1,5 @@
 package com.github.megatronking.svg.generator.xml;
 
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-
 /**
  * Some Elements may contain children nodes. In this condition,
  * We must parse not only the attributes but the children nodes.
@@ -20,10 +17,10 @@ public abstract class ChildrenElementParser<T> implements IElementParser<T> {
     }
 
     @Override
-    public void parse(Element element, T t) throws DocumentException {
+    public void parse(XmlElement element, T t) throws XmlParseException {
         mAttributeParser.parse(element, t);
-        for (Object childElement : element.elements()) {
-            parseChild((Element) childElement, t);
+        for (XmlElement childElement : element.elements()) {
+            parseChild(childElement, t);
         }
     }
 
@@ -32,8 +29,8 @@ public abstract class ChildrenElementParser<T> implements IElementParser<T> {
      *
      * @param childElement a child element.
      * @param t a child element object.
-     * @throws DocumentException an exception when parsing xml.
+     * @throws XmlParseException an exception when parsing xml.
      */
-    protected abstract void parseChild(Element childElement, T t) throws DocumentException;
+    protected abstract void parseChild(XmlElement childElement, T t) throws XmlParseException;
 
 }
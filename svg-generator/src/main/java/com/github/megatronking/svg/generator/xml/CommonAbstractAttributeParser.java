@@ -5,9 +5,6 @@ import com.github.megatronking.svg.generator.utils.Color;
 import com.github.megatronking.svg.generator.utils.Dimen;
 import com.github.megatronking.svg.generator.utils.SCU;
 
-import org.dom4j.Attribute;
-import org.dom4j.Element;
-
 /**
  * We define some common methods here.
  *
@@ -17,42 +14,40 @@ import org.dom4j.Element;
 
 public abstract class CommonAbstractAttributeParser<T> implements IAttributeParser<T> {
 
-    protected String parseString(Element element, String name) {
-        Attribute attribute = element.attribute(name);
-        return attribute == null ? null : attribute.getValue();
+    protected String parseString(XmlElement element, String name) {
+        return element.getAttribute(name);
     }
 
-    protected String parseString(Element element, String name, String defaultValue) {
-        Attribute attribute = element.attribute(name);
-        String value = attribute == null ? null : attribute.getValue();
+    protected String parseString(XmlElement element, String name, String defaultValue) {
+        String value = element.getAttribute(name);
         return value == null || value.trim().length() == 0 ? defaultValue : value;
     }
 
-    protected float parseFloat(Element element, String name) {
+    protected float parseFloat(XmlElement element, String name) {
         return parseFloat(element, name, 0.0f);
     }
 
-    protected float parseFloat(Element element, String name, float defaultValue) {
+    protected float parseFloat(XmlElement element, String name, float defaultValue) {
         return SCU.parseFloat(parseString(element, name), defaultValue);
     }
 
-    protected boolean parseBoolean(Element element, String name) {
+    protected boolean parseBoolean(XmlElement element, String name) {
         return parseBoolean(element, name, false);
     }
 
-    protected boolean parseBoolean(Element element, String name, boolean defaultValue) {
+    protected boolean parseBoolean(XmlElement element, String name, boolean defaultValue) {
         return SCU.parseBoolean(parseString(element, name), defaultValue);
     }
 
-    protected int parseColor(Element element, String name) {
+    protected int parseColor(XmlElement element, String name) {
         return Color.convert(parseString(element, name));
     }
 
-    protected int parseColor(Element element, String name, int defaultColor) {
+    protected int parseColor(XmlElement element, String name, int defaultColor) {
         return Color.convert(parseString(element, name), defaultColor);
     }
 
-    protected float parseDimen(Element element, String name) {
+    protected float parseDimen(XmlElement element, String name) {
         return Dimen.convert(parseString(element, name));
     }
 }
@@ -0,0 +1,30 @@
+package com.github.megatronking.svg.generator.xml;
+
+import org.dom4j.DocumentException;
+import org.dom4j.io.SAXReader;
+
+import java.io.InputStream;
+
+/**
+ * Read the whole xml to a dom4j document. It is isolated here, so dom4j is required only if the
+ * dom mode is used.
+ */
+
+class Dom4jElementReader {
+
+    private SAXReader mReader;
+
+    Dom4jElementReader() {
+        mReader = new SAXReader();
+        mReader.setEntityResolver(new IgnoreDTDEntityResolver());
+    }
+
+    XmlElement read(InputStream is) throws XmlParseException {
+        try {
+            return new Dom4jXmlElement(mReader.read(is).getRootElement());
+        } catch (DocumentException e) {
+            throw new XmlParseException(e.getMessage(), e);
+        }
+    }
+
+}
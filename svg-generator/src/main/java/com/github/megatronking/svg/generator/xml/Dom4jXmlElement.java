@@ -0,0 +1,64 @@
+package com.github.megatronking.svg.generator.xml;
+
+import org.dom4j.Attribute;
+import org.dom4j.Element;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link XmlElement} backed by a dom4j element.
+ */
+
+class Dom4jXmlElement implements XmlElement {
+
+    private Element mElement;
+
+    Dom4jXmlElement(Element element) {
+        this.mElement = element;
+    }
+
+    @Override
+    public String getName() {
+        return mElement.getName();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        Attribute attribute = mElement.attribute(name);
+        return attribute == null ? null : attribute.getValue();
+    }
+
+    @Override
+    public String getText() {
+        return mElement.getText();
+    }
+
+    @Override
+    public Iterable<XmlElement> elements() {
+        final List<?> elements = mElement.elements();
+        return new Iterable<XmlElement>() {
+            @Override
+            public Iterator<XmlElement> iterator() {
+                final Iterator<?> iterator = elements.iterator();
+                return new Iterator<XmlElement>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public XmlElement next() {
+                        return new Dom4jXmlElement((Element) iterator.next());
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+
+}
@@ -1,10 +1,7 @@
 package com.github.megatronking.svg.generator.xml;
 
-import org.dom4j.DocumentException;
-import org.dom4j.Element;
-
 /**
- * We convert xml to tree elements by dom4j framework.
+ * We read xml to elements by a dom or a streaming reader.
  * The next step is parsing the elements to model objects.
  * An element can have declared namespaces, attributes, child nodes and textual content.
  *
@@ -17,10 +14,10 @@ public interface IElementParser<T> {
     /**
      * Parse an element to a model object, one element, one object.
      *
-     * @param element the dom element.
+     * @param element the xml element.
      * @param t the object.
-     * @throws DocumentException an exception when parsing xml.
+     * @throws XmlParseException an exception when parsing xml.
      */
-    void parse(Element element, T t) throws DocumentException;
+    void parse(XmlElement element, T t) throws XmlParseException;
 
 }
@@ -1,7 +1,5 @@
 package com.github.megatronking.svg.generator.xml;
 
-import org.dom4j.DocumentException;
-
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -15,10 +13,10 @@ import java.io.InputStream;
 
 public interface ObjectXmlSAXReader<T> {
 
-    T read(String filePath) throws IOException, DocumentException;
+    T read(String filePath) throws IOException, XmlParseException;
 
-    T read(File file) throws IOException, DocumentException;
+    T read(File file) throws IOException, XmlParseException;
 
-    T read(InputStream is) throws IOException, DocumentException;
+    T read(InputStream is) throws IOException, XmlParseException;
 
 }
@@ -1,45 +1,108 @@
 package com.github.megatronking.svg.generator.xml;
 
-import org.dom4j.Document;
-import org.dom4j.DocumentException;
-import org.dom4j.io.SAXReader;
-
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 /**
  * This a implementation of {@link ObjectXmlSAXReader}, the sub class just need to implement one method.
+ * By default the xml is pulled by a StAX reader and the model is built while the elements stream by,
+ * a dom4j document is built first only if the reader is created in the dom mode.
  *
  * @author Megatron King
  * @since 2016/11/22 17:29
  */
 
-public abstract class SimpleImplementSAXReader<T> implements ObjectXmlSAXReader {
+public abstract class SimpleImplementSAXReader<T> implements ObjectXmlSAXReader<T> {
+
+    private boolean mStreaming;
 
-    private SAXReader mReader;
+    private XMLInputFactory mInputFactory;
+    private Dom4jElementReader mDomReader;
 
     public SimpleImplementSAXReader() {
-        mReader = new SAXReader();
-        mReader.setEntityResolver(new IgnoreDTDEntityResolver());
+        this(true);
+    }
+
+    /**
+     * @param streaming true to parse the xml with a StAX reader, false to read the whole document
+     *                  by dom4j first, which must be in the classpath then.
+     */
+    public SimpleImplementSAXReader(boolean streaming) {
+        mStreaming = streaming;
+        if (streaming) {
+            mInputFactory = XMLInputFactory.newInstance();
+            mInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+            mInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            // Ignore the external dtd, the same as the IgnoreDTDEntityResolver.
+            mInputFactory.setXMLResolver(new XMLResolver() {
+                @Override
+                public Object resolveEntity(String publicID, String systemID, String baseURI,
+                                            String namespace) throws XMLStreamException {
+                    return new ByteArrayInputStream(new byte[0]);
+                }
+            });
+        } else {
+            mDomReader = new Dom4jElementReader();
+        }
     }
 
     @Override
-    public T read(String filePath) throws IOException, DocumentException {
+    public T read(String filePath) throws IOException, XmlParseException {
         return read(new File(filePath));
     }
 
     @Override
-    public T read(File file) throws IOException, DocumentException {
-        return read(new FileInputStream(file));
+    public T read(File file) throws IOException, XmlParseException {
+        InputStream is = new FileInputStream(file);
+        try {
+            return read(is);
+        } finally {
+            is.close();
+        }
     }
 
     @Override
-    public T read(InputStream is) throws IOException, DocumentException {
-        return parseDocument(mReader.read(is));
+    public T read(InputStream is) throws IOException, XmlParseException {
+        if (!mStreaming) {
+            return parseRootElement(mDomReader.read(is));
+        }
+        XMLStreamReader reader = null;
+        try {
+            reader = mInputFactory.createXMLStreamReader(is);
+            while (reader.hasNext() && reader.next() != XMLStreamReader.START_ELEMENT) {
+                // Skip the prolog.
+            }
+            if (!reader.isStartElement()) {
+                throw new XmlParseException("There is no root element");
+            }
+            StAXXmlElement rootElement = new StAXXmlElement(reader);
+            T t = parseRootElement(rootElement);
+            // Make sure the document is well-formed to the end of the root.
+            rootElement.finish();
+            return t;
+        } catch (XMLStreamException e) {
+            throw new XmlParseException(e.getMessage(), e);
+        } catch (StAXXmlElement.StreamException e) {
+            throw new XmlParseException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+        }
     }
 
-    protected abstract T parseDocument(Document document) throws DocumentException;
+    protected abstract T parseRootElement(XmlElement rootElement) throws XmlParseException;
 
 }
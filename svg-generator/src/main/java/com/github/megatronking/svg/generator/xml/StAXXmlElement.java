@@ -0,0 +1,188 @@
+package com.github.megatronking.svg.generator.xml;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A {@link XmlElement} read from a StAX stream. Only the attributes are kept, the children are
+ * pulled from the stream while they are iterated, so there is only the path of the open elements
+ * in memory. The children which are not read by the parser are skipped.
+ */
+
+class StAXXmlElement implements XmlElement, Iterable<XmlElement>, Iterator<XmlElement> {
+
+    private static final String[] EMPTY = new String[0];
+
+    private XMLStreamReader mReader;
+
+    private String mName;
+    private String[] mAttributeNames;
+    private String[] mAttributeValues;
+
+    private String mText;
+
+    // The child returned by next(), the stream is somewhere inside it.
+    private StAXXmlElement mCurrentChild;
+    // The child read by hasNext(), the stream is at its start.
+    private StAXXmlElement mNextChild;
+    // The stream has reached the end of this element.
+    private boolean mEnded;
+
+    /**
+     * Create an element from the stream, which must be at the start of the element.
+     */
+    StAXXmlElement(XMLStreamReader reader) {
+        this.mReader = reader;
+        this.mName = reader.getLocalName();
+        int count = reader.getAttributeCount();
+        if (count == 0) {
+            mAttributeNames = EMPTY;
+            mAttributeValues = EMPTY;
+        } else {
+            mAttributeNames = new String[count];
+            mAttributeValues = new String[count];
+            for (int i = 0; i < count; i++) {
+                mAttributeNames[i] = reader.getAttributeLocalName(i);
+                mAttributeValues[i] = reader.getAttributeValue(i);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return mName;
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        for (int i = 0; i < mAttributeNames.length; i++) {
+            if (mAttributeNames[i].equals(name)) {
+                return mAttributeValues[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getText() {
+        if (mText != null) {
+            return mText;
+        }
+        if (mEnded || mCurrentChild != null || mNextChild != null) {
+            throw new IllegalStateException("The text of <" + mName + "> must be read before its children");
+        }
+        StringBuilder sb = new StringBuilder();
+        try {
+            while (true) {
+                int event = mReader.next();
+                if (event == XMLStreamReader.CHARACTERS || event == XMLStreamReader.CDATA
+                        || event == XMLStreamReader.SPACE) {
+                    sb.append(mReader.getTextCharacters(), mReader.getTextStart(), mReader.getTextLength());
+                } else if (event == XMLStreamReader.START_ELEMENT) {
+                    skipElement();
+                } else if (event == XMLStreamReader.END_ELEMENT) {
+                    mEnded = true;
+                    break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new StreamException(e);
+        }
+        mText = sb.toString();
+        return mText;
+    }
+
+    @Override
+    public Iterable<XmlElement> elements() {
+        return this;
+    }
+
+    @Override
+    public Iterator<XmlElement> iterator() {
+        // The children could be read only once, so the iterator is shared.
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (mNextChild != null) {
+            return true;
+        }
+        if (mEnded) {
+            return false;
+        }
+        if (mCurrentChild != null) {
+            mCurrentChild.finish();
+            mCurrentChild = null;
+        }
+        try {
+            while (true) {
+                int event = mReader.next();
+                if (event == XMLStreamReader.START_ELEMENT) {
+                    mNextChild = new StAXXmlElement(mReader);
+                    return true;
+                } else if (event == XMLStreamReader.END_ELEMENT) {
+                    mEnded = true;
+                    return false;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new StreamException(e);
+        }
+    }
+
+    @Override
+    public XmlElement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        mCurrentChild = mNextChild;
+        mNextChild = null;
+        return mCurrentChild;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Move the stream to the end of this element, skipping all the unread children.
+     */
+    void finish() {
+        while (hasNext()) {
+            next();
+        }
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = mReader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * The iterator can't throw a checked exception, so we wrap it and unwrap it in the reader.
+     */
+    static class StreamException extends RuntimeException {
+
+        StreamException(XMLStreamException cause) {
+            super(cause);
+        }
+
+        @Override
+        public XMLStreamException getCause() {
+            return (XMLStreamException) super.getCause();
+        }
+    }
+
+}
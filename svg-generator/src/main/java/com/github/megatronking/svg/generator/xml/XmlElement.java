@@ -0,0 +1,32 @@
+package com.github.megatronking.svg.generator.xml;
+
+/**
+ * A xml element, it might be a node of a dom tree or a streaming element which is alive only
+ * while the parser is inside of it. So the text and the children can be read only once, and the
+ * text must be read before the children.
+ */
+
+public interface XmlElement {
+
+    /**
+     * @return the local name of the element.
+     */
+    String getName();
+
+    /**
+     * @param name the local name of the attribute.
+     * @return the value of the attribute, or null if it is not present.
+     */
+    String getAttribute(String name);
+
+    /**
+     * @return the text and cdata content of the element, not including the children's.
+     */
+    String getText();
+
+    /**
+     * @return the children elements in the document order.
+     */
+    Iterable<XmlElement> elements();
+
+}
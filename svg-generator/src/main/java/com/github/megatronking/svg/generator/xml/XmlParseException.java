@@ -0,0 +1,17 @@
+package com.github.megatronking.svg.generator.xml;
+
+/**
+ * Signals that the xml could not be read or converted to the model objects.
+ */
+
+public class XmlParseException extends Exception {
+
+    public XmlParseException(String message) {
+        super(message);
+    }
+
+    public XmlParseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -26,4 +26,36 @@ public class SVGExtension {
     public def autoSourceSet = true;
 
     public def generateLoader = true;
+
+    public def cacheGeometry = false;
+
+    // Outline the strokes into fills at build time with this tolerance, which is relative to the
+    // larger side of the viewport, such as 0.001. 0 to keep the strokes.
+    public def strokeTolerance = 0;
+
+    // Split the arcs into the fewest curves within this tolerance, which is relative to the larger
+    // side of the viewport. 0 to split them into the curves of 45 degrees.
+    public def arcTolerance = 0.0005;
+
+    // Intersect the clip paths with the paths they clip at build time, the complex ones are still
+    // clipped at runtime.
+    public def flattenClipPaths = false;
+
+    // Drop the paths covered by the opaque paths drawn later at build time, the icons should not be
+    // tinted with a translucent color then. mergeFills also unions the adjacent opaque fills of the
+    // same color, which changes the antialiased edges between them.
+    public def cullOccludedPaths = false;
+    public def mergeFills = false;
+
+    // Pack all the icons into this file of the assets instead of generating the renderer classes,
+    // such as "src/main/assets/icons.pack".
+    public def packFile;
+
+    // Generate the renderers or the pack straight from the svg files of svg2vector, the svgs are
+    // converted in memory without writing and parsing the vector xml again.
+    public def fusedMode = false;
+
+    // Also write the vector xml into the vector dirs of svg2vector in the fused mode, the debug
+    // variants use them as the drawables. Otherwise the debug variants use the shapes.
+    public def writeVector = false;
 }
\ No newline at end of file
@@ -50,7 +50,9 @@ public class SVGPlugin implements Plugin<Project> {
             if (androidPlugin != null && svgExtension != null && svgExtension.autoSourceSet != null) {
                 def shapeDir = svgExtension.shapeDir
                 def vectorDirs = svgExtension.vectorDirs  != null ? svgExtension.vectorDirs : []
-                if (svg2vectorExtensions != null) {
+                // no vector xml is written in the fused mode, the debug variants use the shapes
+                def fusedShapes = svgExtension.fusedMode && !svgExtension.writeVector
+                if (svg2vectorExtensions != null && !fusedShapes) {
                     svg2vectorExtensions.each { svg2vectorConfiguration->
                         if (svg2vectorConfiguration.vectorDir != null && !vectorDirs.contains(svg2vectorConfiguration.vectorDir)) {
                             vectorDirs.add(svg2vectorConfiguration.vectorDir)
@@ -74,18 +76,18 @@ public class SVGPlugin implements Plugin<Project> {
                             }
                         }
                     }
-                    if (shapeDir != null && sourceSet.name.equals('release')) {
-                        shapeDir = splitResDir(project, shapeDir)
+                    if (shapeDir != null && (sourceSet.name.equals('release') || fusedShapes && sourceSet.name.equals('debug'))) {
+                        def shapeResDir = splitResDir(project, shapeDir)
                         def hasDir = false
                         for (dir in sourceSet.res.srcDirs) {
-                            if (dir.absolutePath.equals(shapeDir)) {
+                            if (dir.absolutePath.equals(shapeResDir)) {
                                 hasDir = true
                                 break
                             }
                         }
                         if (!hasDir) {
-                            println "add release res dir to sourceSet : ${shapeDir}"
-                            sourceSet.res.srcDir(new File(shapeDir))
+                            println "add ${sourceSet.name} res dir to sourceSet : ${shapeResDir}"
+                            sourceSet.res.srcDir(new File(shapeResDir))
                         }
                     }
                 }
@@ -101,7 +103,10 @@ public class SVGPlugin implements Plugin<Project> {
                     svg2vectorChildTask.setExtensionName(svg2vectorExtension.name)
                     svg2vectorTask.dependsOn svg2vectorChildTask
                 }
-                assemble.dependsOn svg2vectorTask
+                // the fused assemble reads the svg files itself
+                if (!svgExtension.fusedMode) {
+                    assemble.dependsOn svg2vectorTask
+                }
             }
 
             cleanTask.dependsOn cleanShape
@@ -4,6 +4,9 @@ import com.github.megatronking.svg.generator.svg.Svg2Vector
 import com.github.megatronking.svg.plugin.utils.Holder
 import org.gradle.api.tasks.TaskAction
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import java.util.zip.GZIPInputStream
 
 public class SVG2VectorTask extends SVGBaseTask {
@@ -34,55 +37,66 @@ public class SVG2VectorTask extends SVGBaseTask {
     void doSvg2Vector(def svgDir, def vectorDir, def width, def height) {
         def dir = file(svgDir)
         if (dir.exists() && dir.isDirectory()) {
-            dir.listFiles().each { svgFile->
-                if(!svgFile.isDirectory() && svgFile.length() > 0 && (svgFile.name.endsWith(".svg") || svgFile.name.endsWith(".svgz"))) {
-                    def svgName = svgFile.name.substring(0, svgFile.name.lastIndexOf(".svg"))
-                    if (svgFile.name.endsWith(".svgz")) {
-                        def upzipFile = file(project.buildDir.path + "/upzip_svgz", svgName + ".svg")
-                        upzipSvgz(svgFile, upzipFile)
-                        svgFile = upzipFile
+            // The files are independent, convert them on all the cores.
+            ExecutorService executor = Executors.newFixedThreadPool(Runtime.runtime.availableProcessors())
+            try {
+                def futures = [:]
+                dir.listFiles().each { svgFile->
+                    if(!svgFile.isDirectory() && svgFile.length() > 0 && (svgFile.name.endsWith(".svg") || svgFile.name.endsWith(".svgz"))) {
+                        def svgName = svgFile.name.substring(0, svgFile.name.lastIndexOf(".svg"))
+                        def vectorFile = file(vectorDir, svgName + ".xml")
+                        // Check the duplicated names in the listing order, so the first one always wins.
+                        if(!Holder.SVG_HOLDER.add(vectorFile.name)) {
+                            logger.error("Duplicated svg image file named ${svgFile.name}")
+                            return
+                        }
+                        futures.put(svgFile, executor.submit({
+                            return svg2vector(svgFile, vectorFile, width, height)
+                        } as Callable))
                     }
-                    svg2vector(svgFile, file(vectorDir, svgName + ".xml"), width, height)
                 }
+                futures.each { svgFile, future->
+                    String error = future.get()
+                    if (error != null && !error.isEmpty()) {
+                        errorSvgs.add(svgFile.path)
+                        if (configuration.debugMode) {
+                            logger.error(error)
+                        }
+                    }
+                }
+            } finally {
+                executor.shutdown()
             }
         } else {
             logger.error("None of svg file was found! Please check " + svgDir + "!")
         }
     }
 
-    void svg2vector(def svgFile, def vectorFile, def width, def height) {
-        if(!vectorFile.getParentFile().exists() && !vectorFile.getParentFile().mkdirs()) {
-            return
+    String svg2vector(def svgFile, def vectorFile, def width, def height) {
+        def vectorDir = vectorFile.getParentFile()
+        if(!vectorDir.exists() && !vectorDir.mkdirs() && !vectorDir.exists()) {
+            return "Can not create the directory " + vectorDir
         }
-        if(Holder.SVG_HOLDER.contains(vectorFile.name)) {
-            logger.error("Duplicated svg image file named ${svgFile.name}")
-            return
+        InputStream is = null
+        OutputStream os = null
+        String error
+        try {
+            // The svgz is unzipped while it is parsed, no temporary file is needed.
+            is = new BufferedInputStream(new FileInputStream(svgFile))
+            if (svgFile.name.endsWith(".svgz")) {
+                is = new GZIPInputStream(is)
+            }
+            os = new FileOutputStream(vectorFile)
+            error = Svg2Vector.parseSvgToXml(is, os, width, height)
+        } catch (IOException e) {
+            error = "Exception in reading " + svgFile.name + ":\n" + e.getMessage()
+        } finally {
+            is?.close()
+            os?.close()
         }
-        Holder.SVG_HOLDER.add(vectorFile.name)
-        String error = Svg2Vector.parseSvgToXml(svgFile, vectorFile, width, height)
         if (error != null && !error.isEmpty()) {
-            errorSvgs.add(svgFile.path)
             vectorFile.delete()
-            if (configuration.debugMode) {
-                logger.error(error)
-            }
-        }
-    }
-
-    void upzipSvgz(File source, File destination) {
-        if (destination.parentFile.exists() || destination.parentFile.mkdirs()) {
-            FileInputStream fis = new FileInputStream(source)
-            FileOutputStream fos = new FileOutputStream(destination)
-            GZIPInputStream gis = new GZIPInputStream(fis)
-            def count
-            def data = new byte[1024]
-            while ((count = gis.read(data, 0, 1024)) != -1) {
-                fos.write(data, 0, count)
-            }
-            gis.close()
-            fis.close()
-            fos.flush()
-            fos.close()
         }
+        return error
     }
 }
@@ -1,18 +1,167 @@
 package com.github.megatronking.svg.plugin.task
 
 import com.github.megatronking.svg.plugin.model.VectorModel
+import com.github.megatronking.svg.generator.render.ClipFlatteningPass
+import com.github.megatronking.svg.generator.render.OcclusionCullingPass
+import com.github.megatronking.svg.generator.render.StrokeOutliningPass
 import com.github.megatronking.svg.generator.render.VectorRenderer
+import com.github.megatronking.svg.generator.svg.Svg2Vector
+import com.github.megatronking.svg.generator.svg.SvgSAXReader
 import com.github.megatronking.svg.generator.vector.VectorSAXReader
 import com.github.megatronking.svg.generator.writer.JavaClassWriter
 import com.github.megatronking.svg.generator.writer.impl.SVGShapeXmlTemplateWriter
 import com.github.megatronking.svg.generator.writer.impl.SVGLoaderTemplateWriter
+import com.github.megatronking.svg.generator.writer.impl.SVGPackWriter
 import com.github.megatronking.svg.generator.writer.impl.SVGRendererTemplateWriter
+import groovy.transform.CompileStatic
+import org.gradle.api.file.FileCollection
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.Optional
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.OutputFiles
 import org.gradle.api.tasks.TaskAction
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * Generate the renderers, the loader and the shape xml from the vectors. The task is incremental,
+ * only the changed vectors are generated again, and the loader is written only if the set of the
+ * names which have renderers is changed. In the fused mode the svg files of svg2vector are read
+ * into the vectors in memory instead of their vector xml.
+ */
 public class SVGAssembleTask extends SVGBaseTask {
 
+    @InputFiles
+    public FileCollection getSourceFiles() {
+        return project.files({
+            resolveConfiguration()
+            return configuration.vectorDirs == null ? [] : collectSources()
+        })
+    }
+
+    @Input
+    public boolean getFusedMode() {
+        resolveConfiguration()
+        return configuration.fusedMode
+    }
+
+    @Input
+    public boolean getWriteVector() {
+        resolveConfiguration()
+        return configuration.fusedMode && configuration.writeVector
+    }
+
+    /**
+     * The sizes of the svg2vector configurations, the fused mode converts the svgs with them.
+     */
+    @Input
+    public List<String> getSvgSizes() {
+        resolveConfiguration()
+        def sizes = []
+        svg2vectorConfigurations?.each { svg2vectorConfiguration->
+            sizes.add(svg2vectorConfiguration.name + ":" + svg2vectorConfiguration.width + "x" + svg2vectorConfiguration.height)
+        }
+        return sizes
+    }
+
+    @Input
+    @Optional
+    public String getPackageName() {
+        resolveConfiguration()
+        return configuration.packageName
+    }
+
+    @Input
+    public boolean getGenerateLoader() {
+        resolveConfiguration()
+        return configuration.generateLoader
+    }
+
+    @Input
+    public boolean getCacheGeometry() {
+        resolveConfiguration()
+        return configuration.cacheGeometry
+    }
+
+    @Input
+    public float getStrokeTolerance() {
+        resolveConfiguration()
+        return configuration.strokeTolerance
+    }
+
+    @Input
+    public float getArcTolerance() {
+        resolveConfiguration()
+        return configuration.arcTolerance
+    }
+
+    @Input
+    public boolean getFlattenClipPaths() {
+        resolveConfiguration()
+        return configuration.flattenClipPaths
+    }
+
+    @Input
+    public boolean getCullOccludedPaths() {
+        resolveConfiguration()
+        return configuration.cullOccludedPaths
+    }
+
+    @Input
+    public boolean getMergeFills() {
+        resolveConfiguration()
+        return configuration.cullOccludedPaths && configuration.mergeFills
+    }
+
+    @Input
+    @Optional
+    public Map getAppColors() {
+        resolveConfiguration()
+        return configuration.appColors
+    }
+
+    /**
+     * The generated files only, the java dir and the shape dir may hold other sources.
+     */
+    @OutputFiles
+    public FileCollection getGeneratedFiles() {
+        return project.files({
+            resolveConfiguration()
+            def files = []
+            if (configuration.vectorDirs == null || configuration.javaDir == null || configuration.shapeDir == null) {
+                return files
+            }
+            collectSources().each { source->
+                def name = sourceName(file(source))
+                if (configuration.packFile == null) {
+                    files.add(file(configuration.javaDir, name + ".java"))
+                }
+                files.add(file(configuration.shapeDir, name + ".xml"))
+                def debugVector = debugVectorFile(file(source))
+                if (debugVector != null) {
+                    files.add(debugVector)
+                }
+            }
+            if (configuration.generateLoader) {
+                files.add(file(configuration.javaDir, "SVGLoader.java"))
+            }
+            return files
+        })
+    }
+
+    @OutputFile
+    @Optional
+    public File getPackFile() {
+        resolveConfiguration()
+        return configuration.packFile == null ? null : file(configuration.packFile)
+    }
+
     @TaskAction
-    public void run() {
+    public void run(IncrementalTaskInputs inputs) {
         super.run();
         // check arguments
         if (configuration == null) {
@@ -30,39 +179,132 @@ public class SVGAssembleTask extends SVGBaseTask {
         if (configuration.packageName == null) {
             return
         }
-        // check vector files
-        def vectors = collectVectors()
+        // check vector files, or the svg files in the fused mode
+        def vectors = collectSources()
         if (vectors.size() == 0) {
             return
         }
-        // read vector files
-        def vectorModels = [];
-        VectorSAXReader reader = new VectorSAXReader()
-        vectors.each { vector->
-            def vectorModel = new VectorModel()
-            def vectorFile = file(vector)
-            vectorModel.name = vectorFile.name.substring(0, vectorFile.name.lastIndexOf(".xml"))
-            try {
-                vectorModel.vector = reader.read(vector)
-            } catch (Exception e) {
-                logger.error("Occur an error: " + vector + e.getMessage());
-                return true
+        // collect the changed vectors, all the vectors are out of date if it is not incremental
+        def outOfDateVectors = [] as Set
+        inputs.outOfDate { change->
+            outOfDateVectors.add(change.file.absolutePath)
+        }
+        def names = vectors.collect { vector-> sourceName(file(vector)) }
+        def anyRemoved = false
+        inputs.removed { change->
+            def name = sourceName(change.file)
+            // another vector dir might have the same name
+            if (!names.contains(name)) {
+                deleteGenerated(name)
             }
-            vectorModels.add(vectorModel)
+            anyRemoved = true
         }
 
         // substring the package name like: "com.android.xxx"
         def javaClassPath = configuration.javaDir.replace("\\", ".").replace("/", ".")
         def javaClassPackage = javaClassPath.substring(javaClassPath.indexOf("src.main.java.") + 14, javaClassPath.length())
 
-        // write renderer
-        writeJavaRendererClass(vectorModels, javaClassPackage)
-        // write loader
+        // read vector files, write renderers and shape xml, every vector is independent
+        // so they are generated in parallel, each thread has its own readers.
+        def readers = new ThreadLocal<VectorSAXReader>() {
+            @Override
+            protected VectorSAXReader initialValue() {
+                return new VectorSAXReader()
+            }
+        }
+        def svgReaders = new ThreadLocal<SvgSAXReader>() {
+            @Override
+            protected SvgSAXReader initialValue() {
+                return new SvgSAXReader()
+            }
+        }
+        // the pack holds all the vectors, so they are all packed again if any of them is changed
+        def packWriter = configuration.packFile == null ? null : createPackWriter(getStrokeTolerance(),
+                getArcTolerance(), getFlattenClipPaths(), getCullOccludedPaths(), getMergeFills())
+        if (packWriter != null && inputs.incremental && outOfDateVectors.isEmpty() && !anyRemoved) {
+            return
+        }
+        def packedNames = []
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.runtime.availableProcessors())
+        try {
+            def futures = [:]
+            vectors.each { vector->
+                if (packWriter != null || outOfDateVectors.contains(vector)) {
+                    futures.put(vector, executor.submit({
+                        return generate(readers, svgReaders, vector, javaClassPackage, packWriter)
+                    } as Callable))
+                }
+            }
+            futures.each { vector, future->
+                def error = future.get()
+                if (error != null) {
+                    logger.error(error)
+                } else {
+                    packedNames.add(sourceName(file(vector)))
+                }
+            }
+        } finally {
+            executor.shutdown()
+        }
+        if (packWriter != null) {
+            writePack(packWriter)
+        }
+
+        // write loader, the names which have renderers are worked out after generating, a vector
+        // which failed before and is fixed now, or the other way round, changes them as well
         if (configuration.generateLoader) {
-            writeJavaLoaderClass(vectorModels, javaClassPackage)
+            def rendererNames = (packWriter != null ? packedNames : names.findAll { name->
+                file(configuration.javaDir, name + ".java").exists()
+            }).unique().sort()
+            def loaderFile = file(configuration.javaDir, "SVGLoader.java")
+            if (!inputs.incremental || !loaderFile.exists() || rendererNames != getLoaderNames()) {
+                writeJavaLoaderClass(rendererNames, javaClassPackage)
+                setLoaderNames(rendererNames)
+            }
         }
-        // write shape xml
-        writeShapeXml(vectorModels)
+    }
+
+    /**
+     * @return the sorted names which the loader was written with.
+     */
+    private def getLoaderNames() {
+        def namesFile = file(temporaryDir, "loader-names")
+        return namesFile.exists() ? namesFile.readLines().findAll { !it.isEmpty() } : []
+    }
+
+    private void setLoaderNames(def names) {
+        file(temporaryDir, "loader-names").text = names.join("\n")
+    }
+
+    /**
+     * Generate the renderer and the shape xml of a vector, or of a svg in the fused mode.
+     *
+     * @return the error message, or null if it is generated.
+     */
+    private def generate(ThreadLocal<VectorSAXReader> readers, ThreadLocal<SvgSAXReader> svgReaders, def vector,
+                         def javaClassPackage, SVGPackWriter packWriter) {
+        def vectorFile = file(vector)
+        def vectorModel = new VectorModel()
+        vectorModel.name = sourceName(vectorFile)
+        try {
+            def svgConfiguration = svgConfigurationOf(vectorFile)
+            if (svgConfiguration != null) {
+                vectorModel.vector = Svg2Vector.parseSvgToVector(svgReaders.get(), vectorFile, svgConfiguration.width,
+                        svgConfiguration.height, debugVectorFile(vectorFile))
+            } else {
+                vectorModel.vector = readers.get().read(vector)
+            }
+        } catch (Exception e) {
+            deleteGenerated(vectorModel.name)
+            return "Occur an error: " + vector + e.getMessage()
+        }
+        if (packWriter != null) {
+            packWriter.addIcon(vectorModel.name, vectorModel.vector)
+        } else {
+            writeJavaRendererClass(vectorModel, javaClassPackage)
+        }
+        writeShapeXml(vectorModel)
+        return null
     }
 
     private def checkDirExistOrMkdirs(def dir) {
@@ -70,11 +312,16 @@ public class SVGAssembleTask extends SVGBaseTask {
         return dir.exists() || dir.mkdirs()
     }
 
-    private def collectVectors() {
+    /**
+     * @return the vector files, and the svg files of svg2vector in the fused mode. The vector dirs
+     * of svg2vector are their outputs in the fused mode, so they are skipped.
+     */
+    private def collectSources() {
         def vectors = []
+        def svg2vectorDirs = configuration.fusedMode ? svg2vectorDirs() : []
         configuration.vectorDirs.each { dir->
             dir = file(dir)
-            if (dir.exists() && dir.isDirectory()) {
+            if (dir.exists() && dir.isDirectory() && !svg2vectorDirs.contains(dir.canonicalPath)) {
                 dir.eachFile { file->
                     def path = file.absolutePath
                     if (file.exists() && file.length() != 0 && !vectors.contains(path) && path.endsWith(".xml")) {
@@ -83,36 +330,141 @@ public class SVGAssembleTask extends SVGBaseTask {
                 }
             }
         }
+        if (configuration.fusedMode) {
+            // the first one of the duplicated names wins, as svg2vector does
+            def names = vectors.collect { vector-> sourceName(file(vector)) } as Set
+            svg2vectorConfigurations?.each { svg2vectorConfiguration->
+                def dir = file(resolveProjectDir(svg2vectorConfiguration.svgDir))
+                if (dir.exists() && dir.isDirectory()) {
+                    dir.eachFile { file->
+                        if (file.length() != 0 && !file.isDirectory() && (file.name.endsWith(".svg") || file.name.endsWith(".svgz"))) {
+                            if (names.add(sourceName(file))) {
+                                vectors.add(file.absolutePath)
+                            }
+                        }
+                    }
+                }
+            }
+        }
         return vectors
     }
 
-    private void writeJavaRendererClass(def vectorModels, def javaClassPackage) {
-        vectorModels.each { vectorModel->
-            BufferedWriter bw = new BufferedWriter(new FileWriter(file(configuration.javaDir, vectorModel.name + ".java")))
-            VectorRenderer renderer = new VectorRenderer()
-            renderer.render(vectorModel.vector)
-            JavaClassWriter writer = new SVGRendererTemplateWriter(renderer, vectorModel.vector)
-            writer.setPackage(javaClassPackage)
-            writer.setClassSimpleName(vectorModel.name)
-            writer.write(bw)
+    private def svg2vectorDirs() {
+        def dirs = []
+        svg2vectorConfigurations?.each { svg2vectorConfiguration->
+            dirs.add(file(resolveProjectDir(svg2vectorConfiguration.vectorDir)).canonicalPath)
+        }
+        return dirs
+    }
+
+    /**
+     * @return the svg2vector configuration of a svg file in the fused mode, or null.
+     */
+    private def svgConfigurationOf(File sourceFile) {
+        if (!configuration.fusedMode || sourceFile.name.endsWith(".xml")) {
+            return null
+        }
+        def dir = sourceFile.parentFile.canonicalPath
+        return svg2vectorConfigurations?.find { svg2vectorConfiguration->
+            file(resolveProjectDir(svg2vectorConfiguration.svgDir)).canonicalPath.equals(dir)
         }
     }
 
-    private void writeJavaLoaderClass(def vectorModels, def javaClassPackage) {
+    /**
+     * @return the vector xml written for the debug variants in the fused mode, or null.
+     */
+    private def debugVectorFile(File sourceFile) {
+        if (!getWriteVector()) {
+            return null
+        }
+        def svgConfiguration = svgConfigurationOf(sourceFile)
+        return svgConfiguration == null ? null : file(resolveProjectDir(svgConfiguration.vectorDir), sourceName(sourceFile) + ".xml")
+    }
+
+    private def sourceName(File sourceFile) {
+        def name = sourceFile.name
+        return name.substring(0, name.lastIndexOf(name.endsWith(".xml") ? ".xml" : ".svg"))
+    }
+
+    private void deleteGenerated(def name) {
+        file(configuration.javaDir, name + ".java").delete()
+        file(configuration.shapeDir, name + ".xml").delete()
+        if (getWriteVector()) {
+            svg2vectorDirs().each { dir->
+                file(dir, name + ".xml").delete()
+            }
+        }
+    }
+
+    private void writeJavaRendererClass(def vectorModel, def javaClassPackage) {
+        BufferedWriter bw = new BufferedWriter(new FileWriter(file(configuration.javaDir, vectorModel.name + ".java")))
+        VectorRenderer renderer = createRenderer(getCacheGeometry(), getStrokeTolerance(), getArcTolerance(),
+                getFlattenClipPaths(), getCullOccludedPaths(), getMergeFills())
+        renderer.render(vectorModel.vector)
+        JavaClassWriter writer = new SVGRendererTemplateWriter(renderer, vectorModel.vector)
+        writer.setPackage(javaClassPackage)
+        writer.setClassSimpleName(vectorModel.name)
+        writer.write(bw)
+    }
+
+    /**
+     * The generator is called statically, so the options which it doesn't support fail the build
+     * of the plugin rather than the build of the app.
+     */
+    @CompileStatic
+    private static VectorRenderer createRenderer(boolean cacheGeometry, float strokeTolerance, float arcTolerance,
+                                                 boolean flattenClipPaths, boolean cullOccludedPaths,
+                                                 boolean mergeFills) {
+        // the renderers build their paths once and cache them by the size
+        VectorRenderer renderer = new VectorRenderer(cacheGeometry)
+        renderer.setArcTolerance(arcTolerance)
+        if (flattenClipPaths) {
+            renderer.addPass(new ClipFlatteningPass())
+        }
+        if (strokeTolerance > 0) {
+            renderer.addPass(new StrokeOutliningPass(strokeTolerance))
+        }
+        if (cullOccludedPaths) {
+            renderer.addPass(new OcclusionCullingPass(mergeFills))
+        }
+        return renderer
+    }
+
+    @CompileStatic
+    private static SVGPackWriter createPackWriter(float strokeTolerance, float arcTolerance, boolean flattenClipPaths,
+                                                  boolean cullOccludedPaths, boolean mergeFills) {
+        SVGPackWriter packWriter = new SVGPackWriter()
+        packWriter.setStrokeTolerance(strokeTolerance)
+        packWriter.setArcTolerance(arcTolerance)
+        packWriter.setFlattenClipPaths(flattenClipPaths)
+        packWriter.setCullOccludedPaths(cullOccludedPaths, mergeFills)
+        return packWriter
+    }
+
+    private void writePack(SVGPackWriter packWriter) {
+        def packFile = file(configuration.packFile)
+        packFile.parentFile.mkdirs()
+        packWriter.write(new FileOutputStream(packFile))
+    }
+
+    private void writeJavaLoaderClass(def rendererNames, def javaClassPackage) {
         SVGLoaderTemplateWriter svgLoaderWriter = new SVGLoaderTemplateWriter(configuration.packageName)
         svgLoaderWriter.setPackage(javaClassPackage)
-        vectorModels.each { vectorModel->
-            svgLoaderWriter.addRendererName(vectorModel.name)
+        if (configuration.packFile != null) {
+            // substring the asset path like: "icons.pack"
+            def packPath = configuration.packFile.replace("\\", "/")
+            svgLoaderWriter.setPackAsset(packPath.substring(packPath.indexOf("assets/") + 7))
+        }
+        rendererNames.each { name->
+            svgLoaderWriter.addRendererName(name)
         }
         BufferedWriter bw = new BufferedWriter(new FileWriter(file(configuration.javaDir, "SVGLoader.java")))
         svgLoaderWriter.write(bw)
     }
 
-    private void writeShapeXml(def vectorModels) {
+    private void writeShapeXml(def vectorModel) {
         SVGShapeXmlTemplateWriter shapeXmlWriter = new SVGShapeXmlTemplateWriter()
-        vectorModels.each { vectorModel->
-            BufferedWriter bw = new BufferedWriter(new FileWriter(file(configuration.shapeDir, vectorModel.name + ".xml")))
-            shapeXmlWriter.write(bw)
-        }
+        BufferedWriter bw = new BufferedWriter(new FileWriter(file(configuration.shapeDir, vectorModel.name + ".xml")))
+        shapeXmlWriter.write(bw)
     }
 }
\ No newline at end of file
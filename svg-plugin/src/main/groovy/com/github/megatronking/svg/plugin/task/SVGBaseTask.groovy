@@ -9,7 +9,22 @@ public class SVGBaseTask extends DefaultTask {
     def SVGExtension configuration
     def SVG2VectorExtension[] svg2vectorConfigurations;
 
+    private def resolved = false
+
     public void run() {
+        resolveConfiguration()
+    }
+
+    /**
+     * Resolve the extensions once, it is also called before the task action while Gradle is
+     * checking the declared inputs and outputs. The extension is shared by the tasks, so resolving
+     * the resolved dirs again must not change them.
+     */
+    protected void resolveConfiguration() {
+        if (resolved) {
+            return
+        }
+        resolved = true
         configuration = project.svg
         if (configuration.javaDir) {
             configuration.javaDir = resolveProjectDir(configuration.javaDir)
@@ -29,8 +44,9 @@ public class SVGBaseTask extends DefaultTask {
         svg2vectorConfigurations = project.extensions.svg2vector
         if (svg2vectorConfigurations) {
             svg2vectorConfigurations.each { svg2vectorConfiguration->
-                if(!configuration.vectorDirs.contains(svg2vectorConfiguration.vectorDir)) {
-                    configuration.vectorDirs.add(svg2vectorConfiguration.vectorDir)
+                def vectorDir = resolveProjectDir(svg2vectorConfiguration.vectorDir)
+                if(!configuration.vectorDirs.contains(vectorDir)) {
+                    configuration.vectorDirs.add(vectorDir)
                 }
             }
         }
@@ -1,7 +1,10 @@
 package com.github.megatronking.svg.plugin.utils;
 
+import java.util.concurrent.ConcurrentHashMap
+
 public class Holder {
 
-    public static final def SVG_HOLDER = []
+    // The svg2vector tasks might run in parallel.
+    public static final Set<String> SVG_HOLDER = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>())
 
 }
\ No newline at end of file
@@ -2,7 +2,6 @@ package com.github.megatronking.svg.support;
 
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.ColorFilter;
 import android.graphics.Paint;
 import android.graphics.Rect;
@@ -10,7 +9,9 @@ import android.graphics.Rect;
 /**
  * Before draw svg to canvas, we must draw to bitmap firstly.
  * This will cost some memories and time, but only by this way, we could
- * handle the alpha filter. And the drawn bitmap would be cached for the next render.
+ * handle the alpha filter. And the drawn bitmap would be cached for the next render, it is
+ * shared with the renderers of the same content by {@link SVGRasterCache}. The renderers of a
+ * single color are cached as alpha masks, which are drawn by a paint of the color.
  *
  * @author Megatron King
  * @since 2016/9/4 14:54
@@ -21,14 +22,17 @@ public class BitmapRendererStrategy extends CachedRendererStrategy {
     // Cap the bitmap size, such that it won't hurt the performance too much
     // and it won't crash due to a very large scale.
     // The drawable will look blurry above this size.
-    private static final int MAX_CACHED_BITMAP_SIZE = 2048;
+    static final int MAX_CACHED_BITMAP_SIZE = 2048;
 
-    private Bitmap mCachedBitmap;
+    private SVGRasterCache.Raster mRaster;
+
+    // Reused for every rendering of the rasters.
+    private final Canvas mCanvas = new Canvas();
 
     /**
-     * Paint object used to draw cached bitmaps.
+     * Paint object used to draw the cached masks.
      */
-    private Paint mPaint;
+    private Paint mMaskPaint;
 
     public BitmapRendererStrategy(SVGRenderer renderer) {
         super(renderer);
@@ -38,48 +42,50 @@ public class BitmapRendererStrategy extends CachedRendererStrategy {
     public void draw(Canvas canvas, int width, int height, ColorFilter filter, Rect dst) {
         width = Math.min(MAX_CACHED_BITMAP_SIZE, width);
         height = Math.min(MAX_CACHED_BITMAP_SIZE, height);
-        createCachedBitmapIfNeeded(width, height);
-        if (!canReuseCache()) {
-            updateCachedBitmap(width, height);
-            updateCacheStates();
-        }
+        acquireRasterIfNeeded(width, height);
         drawCachedBitmapWithAlpha(canvas, filter, dst);
     }
 
-    private void createCachedBitmapIfNeeded(int width, int height) {
-        if (mCachedBitmap == null || !canReuseBitmap(width, height)) {
-            mCachedBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-            mCacheDirty = true;
+    private void acquireRasterIfNeeded(int width, int height) {
+        if (mRaster == null || !mRaster.isSize(width, height)) {
+            SVGRasterCache cache = SVGRasterCache.getInstance();
+            SVGRasterCache.Raster raster = cache.acquire(this, mRenderer, width, height, mCanvas);
+            if (mRaster != null) {
+                cache.release(this, mRaster);
+            }
+            mRaster = raster;
+            mRenderer.getStrategyMetrics().setBitmapBytes(raster.bytes);
+        } else {
+            mRenderer.getStrategyMetrics().onHit();
         }
     }
 
-    private boolean canReuseBitmap(int width, int height) {
-        return width == mCachedBitmap.getWidth() && height == mCachedBitmap.getHeight();
-    }
-
-    private void updateCachedBitmap(int width, int height) {
-        mCachedBitmap.eraseColor(Color.TRANSPARENT);
-        Canvas canvas = new Canvas(mCachedBitmap);
-        mRenderer.render(canvas, width, height, null);
+    @Override
+    public void release() {
+        if (mRaster != null) {
+            SVGRasterCache.getInstance().release(this, mRaster);
+            mRaster = null;
+            mRenderer.getStrategyMetrics().setBitmapBytes(0);
+        }
     }
 
     private void drawCachedBitmapWithAlpha(Canvas canvas, ColorFilter filter, Rect originalBounds) {
         // The bitmap's size is the same as the bounds.
-        final Paint p = getPaint(filter);
-        canvas.drawBitmap(mCachedBitmap, null, originalBounds, p);
+        Paint paint = mRaster.bitmap.getConfig() == Bitmap.Config.ALPHA_8 ? getMaskPaint(filter)
+                : getPaint(filter);
+        canvas.drawBitmap(mRaster.bitmap, null, originalBounds, paint);
     }
 
-    private Paint getPaint(ColorFilter filter) {
-        if (!hasTranslucentRoot() && filter == null) {
-            return null;
-        }
-
-        if (mPaint == null) {
-            mPaint = new Paint();
-            mPaint.setFilterBitmap(true);
+    private Paint getMaskPaint(ColorFilter filter) {
+        if (mMaskPaint == null) {
+            mMaskPaint = new Paint();
+            mMaskPaint.setFilterBitmap(true);
         }
-        mPaint.setAlpha((int) (mRenderer.mAlpha * 0xFF));
-        mPaint.setColorFilter(filter);
-        return mPaint;
+        // The color of an ALPHA_8 bitmap is the color of the paint, the filter applies to it as
+        // it does to the pixels of the colored raster.
+        mMaskPaint.setColor(mRenderer.mMonochromeColor);
+        mMaskPaint.setAlpha((int) (mRenderer.mAlpha * 0xFF));
+        mMaskPaint.setColorFilter(filter);
+        return mMaskPaint;
     }
 }
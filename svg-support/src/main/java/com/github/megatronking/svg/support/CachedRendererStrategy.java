@@ -1,7 +1,12 @@
 package com.github.megatronking.svg.support;
 
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+
 /**
- * Cache the render result.
+ * Cache the render result. The cache is invalidated by the size only, the alpha and the color
+ * filter are applied when the cache is drawn. So an alpha or a tint animation draws the same cache,
+ * like the rotation, the translation and the scale which are applied to the canvas.
  *
  * @author Megatron King
  * @since 2016/9/4 15:16
@@ -9,17 +14,18 @@ package com.github.megatronking.svg.support;
 
 public abstract class CachedRendererStrategy extends RendererStrategy {
 
-    protected float mCachedAlpha;
     protected boolean mCacheDirty;
 
+    /**
+     * Paint object used to draw the cache.
+     */
+    private Paint mPaint;
+
     public CachedRendererStrategy(SVGRenderer renderer) {
         super(renderer);
     }
 
     protected void updateCacheStates() {
-        // Use shallow copy here and shallow comparison in canReuseCache(),
-        // likely hit cache miss more, but practically not much difference.
-        mCachedAlpha = mRenderer.mAlpha;
         mCacheDirty = false;
     }
 
@@ -28,6 +34,24 @@ public abstract class CachedRendererStrategy extends RendererStrategy {
     }
 
     protected boolean canReuseCache() {
-        return !mCacheDirty && mCachedAlpha == mRenderer.mAlpha;
+        return !mCacheDirty;
+    }
+
+    /**
+     * @return the paint to draw the cache with the alpha and the filter, or null if there is
+     *         neither of them.
+     */
+    protected Paint getPaint(ColorFilter filter) {
+        if (!hasTranslucentRoot() && filter == null) {
+            return null;
+        }
+
+        if (mPaint == null) {
+            mPaint = new Paint();
+            mPaint.setFilterBitmap(true);
+        }
+        mPaint.setAlpha((int) (mRenderer.mAlpha * 0xFF));
+        mPaint.setColorFilter(filter);
+        return mPaint;
     }
 }
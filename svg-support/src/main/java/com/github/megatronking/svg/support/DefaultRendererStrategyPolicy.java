@@ -0,0 +1,36 @@
+package com.github.megatronking.svg.support;
+
+import android.graphics.Canvas;
+
+/**
+ * The default {@link IRendererStrategyPolicy}. A renderer is drawn from a bitmap on a hardware
+ * accelerated canvas and from a picture on a software one. A renderer is drawn without any cache
+ * if it is resized in most drawings, such as in a layout animation, or if its bitmap would exceed
+ * the bytes of {@link SVGRasterCache}. The alpha is applied at the drawing by all the strategies,
+ * so an alpha animation does not switch the strategy.
+ */
+
+public class DefaultRendererStrategyPolicy implements IRendererStrategyPolicy {
+
+    private static final int MIN_SAMPLE_COUNT = 8;
+    private static final float MAX_RESIZE_RATE = 0.5f;
+
+    @Override
+    public int select(SVGRenderer renderer, Canvas canvas, int width, int height, RendererStrategyMetrics metrics) {
+        boolean resizing = metrics.getSampleCount() >= MIN_SAMPLE_COUNT
+                && metrics.getResizeRate() > MAX_RESIZE_RATE;
+        // If hardwareAccelerated = true, the picture would not be displayed.
+        if (canvas.isHardwareAccelerated()) {
+            // a single color is cached as an ALPHA_8 mask, see SVGRasterCache.acquire
+            int bytesPerPixel = renderer.mMonochromeColor != 0 ? 1 : 4;
+            int bytes = Math.min(width, BitmapRendererStrategy.MAX_CACHED_BITMAP_SIZE)
+                    * Math.min(height, BitmapRendererStrategy.MAX_CACHED_BITMAP_SIZE) * bytesPerPixel;
+            if (resizing || bytes > SVGRasterCache.getInstance().getMaxBytes()) {
+                return RendererStrategyFactory.STRATEGY_NORMAL;
+            }
+            return RendererStrategyFactory.STRATEGY_BITMAP;
+        }
+        return resizing ? RendererStrategyFactory.STRATEGY_NORMAL : RendererStrategyFactory.STRATEGY_PICTURE;
+    }
+
+}
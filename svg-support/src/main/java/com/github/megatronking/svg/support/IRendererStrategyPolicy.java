@@ -0,0 +1,23 @@
+package com.github.megatronking.svg.support;
+
+import android.graphics.Canvas;
+
+/**
+ * Select the strategy of a renderer before each drawing. The renderer switches to the selected
+ * strategy if it is not the current one, so a policy could follow the changes of the canvas, the
+ * alpha and the memory. Set it by {@link RendererStrategyFactory#setPolicy}.
+ */
+
+public interface IRendererStrategyPolicy {
+
+    /**
+     * @param width The width to render at.
+     * @param height The height to render at.
+     * @param metrics The metrics of the former drawings of the renderer.
+     * @return one of {@link RendererStrategyFactory#STRATEGY_NORMAL},
+     *         {@link RendererStrategyFactory#STRATEGY_PICTURE} and
+     *         {@link RendererStrategyFactory#STRATEGY_BITMAP}.
+     */
+    int select(SVGRenderer renderer, Canvas canvas, int width, int height, RendererStrategyMetrics metrics);
+
+}
@@ -6,8 +6,8 @@ import android.graphics.Rect;
 
 /**
  * Draw the svg image on the canvas of ImageView. The disadvantage of this approach is that
- * the alpha always be 1.0f and no cache used. The worst is that it did not work to the scaleType
- * of ImageView.
+ * no cache used, and the alpha costs a layer. It is rendered at the scaled size and scaled back
+ * to the bounds, like the caches of the other strategies.
  *
  * @author Megatron King
  * @since 2016/9/4 14:52
@@ -21,6 +21,17 @@ public class NormalRendererStrategy extends RendererStrategy {
 
     @Override
     public void draw(Canvas canvas, int width, int height, ColorFilter filter, Rect dst) {
+        mRenderer.getStrategyMetrics().onMiss();
+        boolean translucent = mRenderer.mAlpha < 1.0f;
+        if (!translucent && dst.width() == width && dst.height() == height) {
+            mRenderer.render(canvas, width, height, filter);
+            return;
+        }
+        int saveCount = translucent ? canvas.saveLayerAlpha(dst.left, dst.top, dst.right, dst.bottom,
+                (int) (mRenderer.mAlpha * 0xFF), Canvas.ALL_SAVE_FLAG) : canvas.save();
+        canvas.translate(dst.left, dst.top);
+        canvas.scale((float) dst.width() / width, (float) dst.height() / height);
         mRenderer.render(canvas, width, height, filter);
+        canvas.restoreToCount(saveCount);
     }
 }
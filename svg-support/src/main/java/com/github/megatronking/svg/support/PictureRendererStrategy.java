@@ -8,7 +8,7 @@ import android.graphics.Rect;
 
 /**
  * Like the {@link BitmapRendererStrategy}. The svg render result is cached in a {@link Picture},
- * But as same as the {@link NormalRendererStrategy}, there is no alpha effect. And if
+ * the alpha and the color filter are applied by a layer when it is drawn. And if
  * hardwareAccelerated = true, the picture would not be displayed in ImageView.
  *
  * @author Megatron King
@@ -19,11 +19,6 @@ public class PictureRendererStrategy extends CachedRendererStrategy {
 
     private Picture mCachedPicture;
 
-    /**
-     * Paint object used to draw cached pictures.
-     */
-    private Paint mPaint;
-
     public PictureRendererStrategy(SVGRenderer renderer) {
         super(renderer);
     }
@@ -32,10 +27,13 @@ public class PictureRendererStrategy extends CachedRendererStrategy {
     public void draw(Canvas canvas, int width, int height, ColorFilter filter, Rect dst) {
         createCachedPictureIfNeeded(width, height);
         if (!canReuseCache()) {
-            updateCachedPicture(width, height, filter);
+            mRenderer.getStrategyMetrics().onMiss();
+            updateCachedPicture(width, height);
             updateCacheStates();
+        } else {
+            mRenderer.getStrategyMetrics().onHit();
         }
-        drawCachedPictureWithAlpha(canvas, dst);
+        drawCachedPictureWithAlpha(canvas, filter, dst);
     }
 
     private void createCachedPictureIfNeeded(int width, int height) {
@@ -49,32 +47,22 @@ public class PictureRendererStrategy extends CachedRendererStrategy {
         return width == mCachedPicture.getWidth() && height == mCachedPicture.getHeight();
     }
 
-    private void updateCachedPicture(int width, int height, ColorFilter filter) {
+    private void updateCachedPicture(int width, int height) {
         Canvas canvas = mCachedPicture.beginRecording(width, height);
-        Paint paint = getPaint(filter);
-        if (paint != null) {
-            canvas.drawPaint(paint);
-        }
         mRenderer.render(canvas, width, height, null);
         mCachedPicture.endRecording();
     }
 
-    private void drawCachedPictureWithAlpha(Canvas canvas, Rect originalBounds) {
+    private void drawCachedPictureWithAlpha(Canvas canvas, ColorFilter filter, Rect originalBounds) {
         // The Picture's size is the same as the bounds.
-        canvas.drawPicture(mCachedPicture, originalBounds);
-    }
-
-    private Paint getPaint(ColorFilter filter) {
-        if (!hasTranslucentRoot() && filter == null) {
-            return null;
-        }
-
-        if (mPaint == null) {
-            mPaint = new Paint();
-            mPaint.setFilterBitmap(true);
+        Paint paint = getPaint(filter);
+        if (paint == null) {
+            canvas.drawPicture(mCachedPicture, originalBounds);
+            return;
         }
-        mPaint.setAlpha((int) (mRenderer.mAlpha * 0xFF));
-        mPaint.setColorFilter(filter);
-        return mPaint;
+        int saveCount = canvas.saveLayer(originalBounds.left, originalBounds.top, originalBounds.right,
+                originalBounds.bottom, paint, Canvas.ALL_SAVE_FLAG);
+        canvas.drawPicture(mCachedPicture, originalBounds);
+        canvas.restoreToCount(saveCount);
     }
 }
@@ -24,4 +24,10 @@ public abstract class RendererStrategy {
     }
 
     public abstract void draw(Canvas canvas, int width, int height, ColorFilter filter, Rect dst);
+
+    /**
+     * Release the caches when the renderer switches to another strategy.
+     */
+    public void release() {
+    }
 }
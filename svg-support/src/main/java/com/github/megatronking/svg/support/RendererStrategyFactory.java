@@ -3,7 +3,8 @@ package com.github.megatronking.svg.support;
 import android.graphics.Canvas;
 
 /**
- * A factory of {@link RendererStrategy}.
+ * A factory of {@link RendererStrategy}, the strategy is selected by the
+ * {@link IRendererStrategyPolicy}.
  *
  * @author Megatron King
  * @since 2016/9/4 15:16
@@ -11,15 +12,38 @@ import android.graphics.Canvas;
 
 public class RendererStrategyFactory {
 
+    public static final int STRATEGY_NORMAL = 0;
+    public static final int STRATEGY_PICTURE = 1;
+    public static final int STRATEGY_BITMAP = 2;
+
+    private static IRendererStrategyPolicy sPolicy = new DefaultRendererStrategyPolicy();
+
+    /**
+     * Set the policy of all the renderers, the renderers switch to the strategies it selects at
+     * their next drawings.
+     */
+    public static void setPolicy(IRendererStrategyPolicy policy) {
+        sPolicy = policy != null ? policy : new DefaultRendererStrategyPolicy();
+    }
+
+    public static IRendererStrategyPolicy getPolicy() {
+        return sPolicy;
+    }
+
     public static RendererStrategy create(SVGRenderer renderer, Canvas canvas) {
-        // We cannot apply alpha in picture, in this condition the bitmap is the only choice.
-        if (canvas.isHardwareAccelerated() || renderer.mAlpha != 1.0f) {
-            return new BitmapRendererStrategy(renderer);
-        }
-        if (!canvas.isHardwareAccelerated()) {
-            return new PictureRendererStrategy(renderer);
+        return create(renderer, sPolicy.select(renderer, canvas, renderer.mWidth, renderer.mHeight,
+                renderer.getStrategyMetrics()));
+    }
+
+    public static RendererStrategy create(SVGRenderer renderer, int strategy) {
+        switch (strategy) {
+            case STRATEGY_BITMAP:
+                return new BitmapRendererStrategy(renderer);
+            case STRATEGY_PICTURE:
+                return new PictureRendererStrategy(renderer);
+            default:
+                return new NormalRendererStrategy(renderer);
         }
-        return new NormalRendererStrategy(renderer);
     }
 
 }
@@ -0,0 +1,107 @@
+package com.github.megatronking.svg.support;
+
+/**
+ * The metrics of the drawings of a renderer, which are used to select its strategy. The counts are
+ * halved every {@link #WINDOW} drawings, so the rates follow the recent drawings.
+ *
+ * A hit is a drawing from the cache of the strategy, and a miss is a drawing which renders, every
+ * drawing of {@link NormalRendererStrategy} is a miss.
+ */
+
+public class RendererStrategyMetrics {
+
+    private static final int WINDOW = 64;
+
+    private int mStrategy = -1;
+    private int mDrawCount;
+
+    private int mSampleCount;
+    private long mDrawTimeNanos;
+    private int mHitCount;
+    private int mMissCount;
+    private int mResizeCount;
+
+    private int mLastWidth;
+    private int mLastHeight;
+    private int mBitmapBytes;
+
+    /**
+     * @return the current strategy, or -1 before the first drawing.
+     */
+    public int getStrategy() {
+        return mStrategy;
+    }
+
+    public int getDrawCount() {
+        return mDrawCount;
+    }
+
+    /**
+     * @return the count of the recent drawings which the rates are worked out from.
+     */
+    public int getSampleCount() {
+        return mSampleCount;
+    }
+
+    public long getAverageDrawTimeNanos() {
+        return mSampleCount == 0 ? 0 : mDrawTimeNanos / mSampleCount;
+    }
+
+    /**
+     * @return the rate of the recent drawings from the cache, 0 if none is counted.
+     */
+    public float getHitRate() {
+        int count = mHitCount + mMissCount;
+        return count == 0 ? 0 : (float) mHitCount / count;
+    }
+
+    /**
+     * @return the rate of the recent drawings at another size than the former one, no cache could
+     *         be reused by them whatever the strategy is.
+     */
+    public float getResizeRate() {
+        return mSampleCount == 0 ? 0 : (float) mResizeCount / mSampleCount;
+    }
+
+    /**
+     * @return the bytes of the bitmap drawn by the strategy, it may be shared with other renderers.
+     */
+    public int getBitmapBytes() {
+        return mBitmapBytes;
+    }
+
+    void onStrategyChanged(int strategy) {
+        mStrategy = strategy;
+        mBitmapBytes = 0;
+    }
+
+    void onHit() {
+        mHitCount++;
+    }
+
+    void onMiss() {
+        mMissCount++;
+    }
+
+    void setBitmapBytes(int bytes) {
+        mBitmapBytes = bytes;
+    }
+
+    void onDraw(int width, int height, long drawTimeNanos) {
+        if (mDrawCount > 0 && (width != mLastWidth || height != mLastHeight)) {
+            mResizeCount++;
+        }
+        mLastWidth = width;
+        mLastHeight = height;
+        mDrawCount++;
+        mDrawTimeNanos += drawTimeNanos;
+        if (++mSampleCount == WINDOW) {
+            mSampleCount /= 2;
+            mDrawTimeNanos /= 2;
+            mHitCount /= 2;
+            mMissCount /= 2;
+            mResizeCount /= 2;
+        }
+    }
+
+}
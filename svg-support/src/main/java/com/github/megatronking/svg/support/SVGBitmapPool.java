@@ -0,0 +1,153 @@
+package com.github.megatronking.svg.support;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A pool of ARGB_8888 and ALPHA_8 bitmaps bucketed by their allocated bytes. A bitmap is reused for
+ * a smaller size or another config by {@link Bitmap#reconfigure} since KITKAT, only for the same
+ * size and config before it. The rasters evicted by {@link SVGRasterCache#evictAll()} are put into
+ * its pool. The pool never recycles a bitmap, a display list recorded before may still draw it, the
+ * ones which do not fit are left to the GC.
+ */
+
+public class SVGBitmapPool {
+
+    // A bitmap is not reused for a size which takes less than a half of it.
+    private static final int MAX_SIZE_RATIO = 2;
+
+    private final TreeMap<Integer, List<Bitmap>> mBuckets = new TreeMap<>();
+    private int mBytes;
+    private int mMaxBytes;
+
+    public SVGBitmapPool(int maxBytes) {
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * Bound the bytes of the pooled bitmaps, the smallest ones are dropped first beyond this,
+     * they fit the fewest sizes.
+     */
+    public synchronized void setMaxBytes(int maxBytes) {
+        mMaxBytes = maxBytes;
+        trim();
+    }
+
+    public synchronized int getMaxBytes() {
+        return mMaxBytes;
+    }
+
+    public synchronized int getBytes() {
+        return mBytes;
+    }
+
+    /**
+     * Get a transparent ARGB_8888 bitmap of the size, a pooled one is reused if it fits.
+     */
+    public Bitmap get(int width, int height) {
+        return get(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    /**
+     * Get a transparent bitmap of the size and the config, which is ARGB_8888 or ALPHA_8, a pooled
+     * one is reused if it fits.
+     */
+    public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+        int bytes = width * height * getBytesPerPixel(config);
+        boolean canReconfigure = Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT;
+        Map.Entry<Integer, List<Bitmap>> bucket = mBuckets.ceilingEntry(bytes);
+        while (bucket != null && bucket.getKey() <= bytes * MAX_SIZE_RATIO) {
+            List<Bitmap> bitmaps = bucket.getValue();
+            for (int i = bitmaps.size() - 1; i >= 0; i--) {
+                Bitmap bitmap = bitmaps.get(i);
+                if (canReconfigure || (bitmap.getWidth() == width && bitmap.getHeight() == height
+                        && bitmap.getConfig() == config)) {
+                    bitmaps.remove(i);
+                    if (bitmaps.isEmpty()) {
+                        mBuckets.remove(bucket.getKey());
+                    }
+                    mBytes -= bucket.getKey();
+                    if (canReconfigure) {
+                        bitmap.reconfigure(width, height, config);
+                    }
+                    bitmap.eraseColor(Color.TRANSPARENT);
+                    return bitmap;
+                }
+            }
+            if (!canReconfigure) {
+                // a bitmap of the same size is only in the bucket of its bytes
+                break;
+            }
+            bucket = mBuckets.higherEntry(bucket.getKey());
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * Put a bitmap which is not drawn any more into the pool, no display list may draw it either.
+     * It is erased and reconfigured when it is reused.
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap.isRecycled() || !bitmap.isMutable() || getBytesPerPixel(bitmap.getConfig()) == 0) {
+            return;
+        }
+        int bytes = getAllocationBytes(bitmap);
+        if (bytes > mMaxBytes) {
+            return;
+        }
+        List<Bitmap> bitmaps = mBuckets.get(bytes);
+        if (bitmaps == null) {
+            bitmaps = new ArrayList<>();
+            mBuckets.put(bytes, bitmaps);
+        }
+        bitmaps.add(bitmap);
+        mBytes += bytes;
+        trim();
+    }
+
+    /**
+     * Drop all the pooled bitmaps, such as when the memory is low.
+     */
+    public synchronized void clear() {
+        int maxBytes = mMaxBytes;
+        mMaxBytes = 0;
+        trim();
+        mMaxBytes = maxBytes;
+    }
+
+    private void trim() {
+        while (mBytes > mMaxBytes) {
+            Map.Entry<Integer, List<Bitmap>> bucket = mBuckets.firstEntry();
+            List<Bitmap> bitmaps = bucket.getValue();
+            bitmaps.remove(bitmaps.size() - 1);
+            if (bitmaps.isEmpty()) {
+                mBuckets.remove(bucket.getKey());
+            }
+            mBytes -= bucket.getKey();
+        }
+    }
+
+    private static int getBytesPerPixel(Bitmap.Config config) {
+        if (config == Bitmap.Config.ARGB_8888) {
+            return 4;
+        }
+        if (config == Bitmap.Config.ALPHA_8) {
+            return 1;
+        }
+        return 0;
+    }
+
+    static int getAllocationBytes(Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            return bitmap.getAllocationByteCount();
+        }
+        return bitmap.getByteCount();
+    }
+
+}
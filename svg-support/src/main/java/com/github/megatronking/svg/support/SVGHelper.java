@@ -4,6 +4,7 @@ import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.ColorFilter;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
@@ -133,4 +134,28 @@ public class SVGHelper {
         renderer.render(canvas, width, height, filter);
         return bitmap;
     }
+
+    /**
+     * Convert a svg renderer into a Bitmap of the caller, such as one of a {@link SVGBitmapPool}.
+     * The bitmap is erased first.
+     *
+     * @param renderer The SVGRenderer.
+     * @param bitmap A mutable Bitmap, the svg is drawn in its size.
+     * @param filter Assign the filter of Bitmap, can be null.
+     * @return The Bitmap.
+     */
+    public static Bitmap createBitmap(SVGRenderer renderer, Bitmap bitmap, ColorFilter filter) {
+        bitmap.eraseColor(Color.TRANSPARENT);
+        renderer.render(new Canvas(bitmap), bitmap.getWidth(), bitmap.getHeight(), filter);
+        return bitmap;
+    }
+
+    /**
+     * Render into a transparent bitmap by a reused canvas, which does not keep the bitmap after that.
+     */
+    static void renderBitmap(SVGRenderer renderer, Bitmap bitmap, Canvas canvas, ColorFilter filter) {
+        canvas.setBitmap(bitmap);
+        renderer.render(canvas, bitmap.getWidth(), bitmap.getHeight(), filter);
+        canvas.setBitmap(null);
+    }
 }
@@ -0,0 +1,257 @@
+package com.github.megatronking.svg.support;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+/**
+ * Replay the opcode and coordinate tables of the data renderers onto the canvas. The tables are
+ * written by the generator, so all the renderers share this small loop instead of carrying their
+ * own drawing code. Nothing is allocated while rendering, except the paints at the first time.
+ *
+ * The first two coordinates are the viewport width and height, the others are consumed by the
+ * opcodes in order. A color is stored in the opcodes as two chars, high bits first.
+ */
+
+public final class SVGInterpreter {
+
+    // Start a new path.
+    public static final char OP_BEGIN = 'B';
+
+    // The path commands, the same as android.graphics.Path.
+    public static final char OP_MOVE_TO = 'M';
+    public static final char OP_R_MOVE_TO = 'm';
+    public static final char OP_LINE_TO = 'L';
+    public static final char OP_R_LINE_TO = 'l';
+    public static final char OP_QUAD_TO = 'Q';
+    public static final char OP_R_QUAD_TO = 'q';
+    public static final char OP_CUBIC_TO = 'C';
+    public static final char OP_R_CUBIC_TO = 'c';
+    public static final char OP_CLOSE = 'Z';
+
+    // Scale the path to the size, the path could be drawn after this.
+    public static final char OP_END = 'X';
+    public static final char OP_EVEN_ODD = 'E';
+
+    // Fill the path, followed by the color.
+    public static final char OP_FILL = 'F';
+    // Stroke the path, followed by the color, the cap and the join. The miter limit and width are
+    // in coordinates.
+    public static final char OP_STROKE = 'S';
+    // Intersect the clip with the path, it is scoped by the save and restore of its group.
+    public static final char OP_CLIP = 'K';
+    public static final char OP_SAVE = '(';
+    public static final char OP_RESTORE = ')';
+
+    // The caps and joins of the stroke.
+    public static final char KEEP = '-';
+    public static final char CAP_BUTT = 'b';
+    public static final char CAP_ROUND = 'r';
+    public static final char CAP_SQUARE = 's';
+    public static final char JOIN_MITER = 'm';
+    public static final char JOIN_ROUND = 'r';
+    public static final char JOIN_BEVEL = 'b';
+
+    private SVGInterpreter() {
+    }
+
+    /**
+     * Concat the string chunks into the opcodes. The tables are split by the generator to fit
+     * the limit of a string constant.
+     */
+    public static char[] decodeOps(String... chunks) {
+        int length = 0;
+        for (String chunk : chunks) {
+            length += chunk.length();
+        }
+        char[] ops = new char[length];
+        int offset = 0;
+        for (String chunk : chunks) {
+            chunk.getChars(0, chunk.length(), ops, offset);
+            offset += chunk.length();
+        }
+        return ops;
+    }
+
+    /**
+     * Decode the string chunks into the coordinates, every float is stored by its bits as two
+     * chars, high bits first.
+     */
+    public static float[] decodeCoords(String... chunks) {
+        char[] chars = decodeOps(chunks);
+        float[] coords = new float[chars.length / 2];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = Float.intBitsToFloat(readInt(chars, i * 2));
+        }
+        return coords;
+    }
+
+    public static void render(SVGRenderer renderer, Canvas canvas, int w, int h, ColorFilter filter,
+                              char[] ops, float[] coords) {
+        final float scaleX = w / coords[0];
+        final float scaleY = h / coords[1];
+        final float minScale = Math.min(scaleX, scaleY);
+        final Path path = renderer.mPath;
+        renderer.mFinalPathMatrix.setScale(scaleX, scaleY);
+
+        // The paints are set up at the first time they are used, then only the changed states are set.
+        boolean fillPaintReady = false;
+        int fillColor = 0;
+        boolean strokePaintReady = false;
+        int strokeColor = 0;
+        char strokeCap = KEEP;
+        char strokeJoin = KEEP;
+        float strokeMiter = 0;
+        float strokeWidth = 0;
+
+        final float[] c = coords;
+        int k = 2;
+        int i = 0;
+        while (i < ops.length) {
+            switch (ops[i++]) {
+                case OP_BEGIN:
+                    path.reset();
+                    path.setFillType(Path.FillType.WINDING);
+                    break;
+                case OP_MOVE_TO:
+                    path.moveTo(c[k], c[k + 1]);
+                    k += 2;
+                    break;
+                case OP_R_MOVE_TO:
+                    path.rMoveTo(c[k], c[k + 1]);
+                    k += 2;
+                    break;
+                case OP_LINE_TO:
+                    path.lineTo(c[k], c[k + 1]);
+                    k += 2;
+                    break;
+                case OP_R_LINE_TO:
+                    path.rLineTo(c[k], c[k + 1]);
+                    k += 2;
+                    break;
+                case OP_QUAD_TO:
+                    path.quadTo(c[k], c[k + 1], c[k + 2], c[k + 3]);
+                    k += 4;
+                    break;
+                case OP_R_QUAD_TO:
+                    path.rQuadTo(c[k], c[k + 1], c[k + 2], c[k + 3]);
+                    k += 4;
+                    break;
+                case OP_CUBIC_TO:
+                    path.cubicTo(c[k], c[k + 1], c[k + 2], c[k + 3], c[k + 4], c[k + 5]);
+                    k += 6;
+                    break;
+                case OP_R_CUBIC_TO:
+                    path.rCubicTo(c[k], c[k + 1], c[k + 2], c[k + 3], c[k + 4], c[k + 5]);
+                    k += 6;
+                    break;
+                case OP_CLOSE:
+                    path.close();
+                    break;
+                case OP_END:
+                    path.transform(renderer.mFinalPathMatrix);
+                    break;
+                case OP_EVEN_ODD:
+                    path.setFillType(Path.FillType.EVEN_ODD);
+                    break;
+                case OP_FILL:
+                    if (!fillPaintReady) {
+                        if (renderer.mFillPaint == null) {
+                            renderer.mFillPaint = new Paint();
+                            renderer.mFillPaint.setStyle(Paint.Style.FILL);
+                            renderer.mFillPaint.setAntiAlias(true);
+                        }
+                        renderer.mFillPaint.setColorFilter(filter);
+                    }
+                    if (!fillPaintReady || fillColor != readInt(ops, i)) {
+                        fillColor = readInt(ops, i);
+                        renderer.mFillPaint.setColor(fillColor);
+                    }
+                    fillPaintReady = true;
+                    canvas.drawPath(path, renderer.mFillPaint);
+                    i += 2;
+                    break;
+                case OP_STROKE:
+                    if (!strokePaintReady) {
+                        if (renderer.mStrokePaint == null) {
+                            renderer.mStrokePaint = new Paint();
+                            renderer.mStrokePaint.setStyle(Paint.Style.STROKE);
+                            renderer.mStrokePaint.setAntiAlias(true);
+                        }
+                        renderer.mStrokePaint.setColorFilter(filter);
+                    }
+                    Paint paint = renderer.mStrokePaint;
+                    if (!strokePaintReady || strokeColor != readInt(ops, i)) {
+                        strokeColor = readInt(ops, i);
+                        paint.setColor(strokeColor);
+                    }
+                    if (ops[i + 2] != KEEP && ops[i + 2] != strokeCap) {
+                        strokeCap = ops[i + 2];
+                        setStrokeCap(paint, strokeCap);
+                    }
+                    if (ops[i + 3] != KEEP && ops[i + 3] != strokeJoin) {
+                        strokeJoin = ops[i + 3];
+                        setStrokeJoin(paint, strokeJoin);
+                    }
+                    if (!strokePaintReady || strokeMiter != c[k]) {
+                        strokeMiter = c[k];
+                        paint.setStrokeMiter(strokeMiter);
+                    }
+                    if (!strokePaintReady || strokeWidth != c[k + 1]) {
+                        strokeWidth = c[k + 1];
+                        paint.setStrokeWidth(minScale * strokeWidth);
+                    }
+                    strokePaintReady = true;
+                    canvas.drawPath(path, paint);
+                    i += 4;
+                    k += 2;
+                    break;
+                case OP_CLIP:
+                    canvas.clipPath(path);
+                    break;
+                case OP_SAVE:
+                    canvas.save();
+                    break;
+                case OP_RESTORE:
+                    canvas.restore();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown opcode " + ops[i - 1] + " at " + (i - 1));
+            }
+        }
+    }
+
+    private static void setStrokeCap(Paint paint, char cap) {
+        switch (cap) {
+            case CAP_BUTT:
+                paint.setStrokeCap(Paint.Cap.BUTT);
+                break;
+            case CAP_ROUND:
+                paint.setStrokeCap(Paint.Cap.ROUND);
+                break;
+            case CAP_SQUARE:
+                paint.setStrokeCap(Paint.Cap.SQUARE);
+                break;
+        }
+    }
+
+    private static void setStrokeJoin(Paint paint, char join) {
+        switch (join) {
+            case JOIN_MITER:
+                paint.setStrokeJoin(Paint.Join.MITER);
+                break;
+            case JOIN_ROUND:
+                paint.setStrokeJoin(Paint.Join.ROUND);
+                break;
+            case JOIN_BEVEL:
+                paint.setStrokeJoin(Paint.Join.BEVEL);
+                break;
+        }
+    }
+
+    private static int readInt(char[] chars, int index) {
+        return (chars[index] << 16) | chars[index + 1];
+    }
+
+}
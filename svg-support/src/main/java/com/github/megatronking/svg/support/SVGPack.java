@@ -0,0 +1,375 @@
+package com.github.megatronking.svg.support;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A binary pack of icons written by the SVGPackWriter of svg-generator. The pack is mapped from
+ * the assets, and an icon is decoded only when it is drawn at the first time, so the count of the
+ * icons costs neither classes nor startup time. The decoded icons are kept in a bounded LRU cache.
+ *
+ * Keep the pack uncompressed in the apk to map it, for example aaptOptions { noCompress 'pack' },
+ * otherwise it is read into the memory.
+ */
+
+public class SVGPack {
+
+    private static final int MAGIC = 0x53564750;
+    private static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = 12;
+    private static final int ENTRY_SIZE = 36;
+
+    private static final int FLAG_WIDTH_DIP = 1;
+    private static final int FLAG_HEIGHT_DIP = 1 << 1;
+
+    private static final int DEFAULT_CACHE_BYTES = 512 * 1024;
+
+    private final Context mContext;
+    private final ByteBuffer mBuffer;
+    private final int mCount;
+
+    // The decoded icons by the index, and a LRU list of them, the head is the eldest.
+    private final Icon[] mIcons;
+    private Icon mHead;
+    private Icon mTail;
+    private int mCacheBytes;
+    private int mMaxCacheBytes = DEFAULT_CACHE_BYTES;
+
+    /**
+     * Open a pack in the assets.
+     *
+     * @return the pack, or null if it could not be read.
+     */
+    public static SVGPack open(Context context, String assetName) {
+        try {
+            return new SVGPack(context, mapAsset(context, assetName));
+        } catch (IOException e) {
+            // ignore
+        } catch (IllegalArgumentException e) {
+            // ignore
+        }
+        return null;
+    }
+
+    private static ByteBuffer mapAsset(Context context, String assetName) throws IOException {
+        AssetFileDescriptor afd = null;
+        try {
+            afd = context.getAssets().openFd(assetName);
+        } catch (IOException e) {
+            // the asset is compressed
+        }
+        if (afd != null) {
+            FileInputStream fis = afd.createInputStream();
+            try {
+                FileChannel channel = fis.getChannel();
+                // the mapping is still valid after the channel is closed
+                return channel.map(FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength());
+            } finally {
+                fis.close();
+                afd.close();
+            }
+        }
+        InputStream is = context.getAssets().open(assetName);
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = is.read(buffer)) != -1) {
+                bos.write(buffer, 0, length);
+            }
+            return ByteBuffer.wrap(bos.toByteArray());
+        } finally {
+            is.close();
+        }
+    }
+
+    public SVGPack(Context context, ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a svg pack");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported svg pack version " + buffer.getInt(4));
+        }
+        mContext = context;
+        mBuffer = buffer;
+        mCount = buffer.getInt(8);
+        mIcons = new Icon[mCount];
+    }
+
+    public int getIconCount() {
+        return mCount;
+    }
+
+    /**
+     * Bound the bytes of the decoded icons, the eldest ones are released beyond this.
+     */
+    public synchronized void setMaxCacheBytes(int maxCacheBytes) {
+        mMaxCacheBytes = maxCacheBytes;
+        trimCache();
+    }
+
+    /**
+     * Find the icon by a binary search of the names.
+     *
+     * @param name The name of the icon, which is the name of its drawable resource.
+     * @return the index of the icon, or -1 if it is not in the pack.
+     */
+    public int indexOf(String name) {
+        int low = 0;
+        int high = mCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int result = compareName(mid, name);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareName(int index, String name) {
+        int entry = HEADER_SIZE + index * ENTRY_SIZE;
+        int offset = mBuffer.getInt(entry);
+        int length = mBuffer.getShort(entry + 4);
+        int minLength = Math.min(length, name.length());
+        for (int i = 0; i < minLength; i++) {
+            int diff = mBuffer.get(offset + i) - name.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - name.length();
+    }
+
+    /**
+     * Create a renderer of the icon, the icon is not decoded until it is drawn.
+     */
+    public SVGRenderer createRenderer(int index) {
+        if (index < 0 || index >= mCount) {
+            throw new IndexOutOfBoundsException("No icon at " + index);
+        }
+        return new SVGPackRenderer(mContext, this, index);
+    }
+
+    /**
+     * A constant state for SVGLoader, the renderer is created when the first drawable is.
+     *
+     * @return the constant state, or null if the icon is not in the pack.
+     */
+    public Drawable.ConstantState getConstantState(String name) {
+        int index = indexOf(name);
+        return index < 0 ? null : new SVGPackConstantState(this, index);
+    }
+
+    synchronized Icon getIcon(int index) {
+        Icon icon = mIcons[index];
+        if (icon == null) {
+            icon = decode(index);
+            mIcons[index] = icon;
+            mCacheBytes += icon.bytes;
+        } else {
+            unlink(icon);
+        }
+        link(icon);
+        trimCache();
+        return icon;
+    }
+
+    private Icon decode(int index) {
+        int entry = HEADER_SIZE + index * ENTRY_SIZE;
+        int offset = mBuffer.getInt(entry + 8);
+        char[] ops = new char[mBuffer.getInt(entry + 12)];
+        float[] coords = new float[mBuffer.getInt(entry + 16)];
+        for (int i = 0; i < ops.length; i++) {
+            ops[i] = mBuffer.getChar(offset);
+            offset += 2;
+        }
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = mBuffer.getFloat(offset);
+            offset += 4;
+        }
+        Icon icon = new Icon(index, ops, coords);
+        icon.bytes = ops.length * 2 + coords.length * 4;
+        return icon;
+    }
+
+    private void trimCache() {
+        // keep the latest one at least, it is being drawn
+        while (mCacheBytes > mMaxCacheBytes && mHead != mTail) {
+            Icon eldest = mHead;
+            unlink(eldest);
+            mIcons[eldest.index] = null;
+            mCacheBytes -= eldest.bytes;
+        }
+    }
+
+    private void link(Icon icon) {
+        icon.prev = mTail;
+        icon.next = null;
+        if (mTail != null) {
+            mTail.next = icon;
+        } else {
+            mHead = icon;
+        }
+        mTail = icon;
+    }
+
+    private void unlink(Icon icon) {
+        if (icon.prev != null) {
+            icon.prev.next = icon.next;
+        } else {
+            mHead = icon.next;
+        }
+        if (icon.next != null) {
+            icon.next.prev = icon.prev;
+        } else {
+            mTail = icon.prev;
+        }
+        icon.prev = null;
+        icon.next = null;
+    }
+
+    int getFlags(int index) {
+        return mBuffer.getShort(HEADER_SIZE + index * ENTRY_SIZE + 6);
+    }
+
+    float getWidth(int index) {
+        return mBuffer.getFloat(HEADER_SIZE + index * ENTRY_SIZE + 20);
+    }
+
+    float getHeight(int index) {
+        return mBuffer.getFloat(HEADER_SIZE + index * ENTRY_SIZE + 24);
+    }
+
+    float getAlpha(int index) {
+        return mBuffer.getFloat(HEADER_SIZE + index * ENTRY_SIZE + 28);
+    }
+
+    int getMonochromeColor(int index) {
+        return mBuffer.getInt(HEADER_SIZE + index * ENTRY_SIZE + 32);
+    }
+
+    static class Icon {
+
+        final int index;
+        final char[] ops;
+        final float[] coords;
+        int bytes;
+
+        Icon prev;
+        Icon next;
+
+        Icon(int index, char[] ops, float[] coords) {
+            this.index = index;
+            this.ops = ops;
+            this.coords = coords;
+        }
+
+    }
+
+    private static class SVGPackRenderer extends SVGRenderer {
+
+        private final SVGPack mPack;
+        private final int mIndex;
+
+        SVGPackRenderer(Context context, SVGPack pack, int index) {
+            super(context);
+            mPack = pack;
+            mIndex = index;
+            int flags = pack.getFlags(index);
+            float width = pack.getWidth(index);
+            float height = pack.getHeight(index);
+            mAlpha = pack.getAlpha(index);
+            mMonochromeColor = pack.getMonochromeColor(index);
+            mWidth = (flags & FLAG_WIDTH_DIP) != 0 ? dip2px(width) : (int) width;
+            mHeight = (flags & FLAG_HEIGHT_DIP) != 0 ? dip2px(height) : (int) height;
+        }
+
+        @Override
+        protected Object getRasterKey() {
+            return new RasterKey(mPack, mIndex);
+        }
+
+        @Override
+        public void render(Canvas canvas, int width, int height, ColorFilter filter) {
+            // the icon might be released from the cache, so it is not kept here
+            Icon icon = mPack.getIcon(mIndex);
+            SVGInterpreter.render(this, canvas, width, height, filter, icon.ops, icon.coords);
+        }
+
+    }
+
+    /**
+     * The renderers of a pack are of the same class, so the icon is a part of the key.
+     */
+    private static class RasterKey {
+
+        private final SVGPack mPack;
+        private final int mIndex;
+
+        RasterKey(SVGPack pack, int index) {
+            mPack = pack;
+            mIndex = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RasterKey)) {
+                return false;
+            }
+            RasterKey key = (RasterKey) o;
+            return mPack == key.mPack && mIndex == key.mIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(mPack) * 31 + mIndex;
+        }
+
+    }
+
+    private static class SVGPackConstantState extends Drawable.ConstantState {
+
+        private final SVGPack mPack;
+        private final int mIndex;
+
+        private SVGDrawable.SVGDrawableConstantState mState;
+
+        SVGPackConstantState(SVGPack pack, int index) {
+            mPack = pack;
+            mIndex = index;
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            if (mState == null) {
+                mState = SVGDrawable.SVGDrawableConstantState.create(mPack.createRenderer(mIndex));
+            }
+            return mState.newDrawable();
+        }
+
+        @Override
+        public int getChangingConfigurations() {
+            return mState == null ? 0 : mState.getChangingConfigurations();
+        }
+
+    }
+
+}
@@ -0,0 +1,248 @@
+package com.github.megatronking.svg.support;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rasters of the renderers shared by the whole process. The renderers of the same content
+ * drawn at the same size share one bitmap, however many drawables are mutated from them. The alpha
+ * and the color filter are applied when the bitmap is drawn, so they are not a part of the key. The
+ * renderers of a single color are cached as ALPHA_8 masks, which are colored when they are drawn.
+ *
+ * A raster is referenced by the strategies drawing it, and the ones which are not referenced are
+ * evicted in the LRU order when the total bytes exceed the max bytes. A strategy which is garbage
+ * collected does not reference its raster any more. The display lists recorded before may still
+ * draw the bitmap of an evicted raster, so it is left to the GC, it is neither reused nor
+ * recycled. Only {@link #evictAll()} puts the bitmaps into a {@link SVGBitmapPool} for the new
+ * rasters.
+ */
+
+public class SVGRasterCache {
+
+    private static final int DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+    private static final int DEFAULT_MAX_POOL_BYTES = 2 * 1024 * 1024;
+
+    private static SVGRasterCache sInstance;
+
+    private final Map<Key, Raster> mRasters = new HashMap<>();
+    private final SVGBitmapPool mBitmapPool = new SVGBitmapPool(DEFAULT_MAX_POOL_BYTES);
+
+    // The LRU list of the rasters, the head is the eldest.
+    private Raster mHead;
+    private Raster mTail;
+    private int mBytes;
+    private int mMaxBytes = DEFAULT_MAX_BYTES;
+
+    private int mHitCount;
+    private int mMissCount;
+    private int mEvictionCount;
+
+    public static synchronized SVGRasterCache getInstance() {
+        if (sInstance == null) {
+            sInstance = new SVGRasterCache();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Bound the bytes of the rasters, the eldest ones which are not referenced are evicted beyond
+     * this. The referenced ones are kept even if they exceed it.
+     */
+    public synchronized void setMaxBytes(int maxBytes) {
+        mMaxBytes = maxBytes;
+        trim(false);
+    }
+
+    public SVGBitmapPool getBitmapPool() {
+        return mBitmapPool;
+    }
+
+    public synchronized int getMaxBytes() {
+        return mMaxBytes;
+    }
+
+    public synchronized int getBytes() {
+        return mBytes;
+    }
+
+    public synchronized int getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return mMissCount;
+    }
+
+    public synchronized int getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    /**
+     * Evict all the rasters which are not referenced and put their bitmaps into the pool. Call it
+     * when no frame draws them any more, such as onTrimMemory(TRIM_MEMORY_UI_HIDDEN). Clear the
+     * pool as well when the memory is low.
+     */
+    public synchronized void evictAll() {
+        int maxBytes = mMaxBytes;
+        mMaxBytes = 0;
+        trim(true);
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * Get the raster of the renderer at the size, it is rendered if it is not cached. The raster is
+     * referenced by the owner until it is released.
+     *
+     * @param canvas The canvas of the owner to render with, it is reused for every rendering.
+     */
+    synchronized Raster acquire(Object owner, SVGRenderer renderer, int width, int height, Canvas canvas) {
+        Key key = new Key(renderer.getRasterKey(), width, height);
+        Raster raster = mRasters.get(key);
+        if (raster == null) {
+            mMissCount++;
+            renderer.getStrategyMetrics().onMiss();
+            // a single color is cached as the coverage, which takes a quarter of the bytes
+            Bitmap.Config config = renderer.mMonochromeColor != 0 ? Bitmap.Config.ALPHA_8
+                    : Bitmap.Config.ARGB_8888;
+            raster = new Raster(key, mBitmapPool.get(width, height, config));
+            SVGHelper.renderBitmap(renderer, raster.bitmap, canvas, null);
+            mRasters.put(key, raster);
+            mBytes += raster.bytes;
+        } else {
+            mHitCount++;
+            renderer.getStrategyMetrics().onHit();
+            unlink(raster);
+        }
+        link(raster);
+        raster.owners.add(new WeakReference<>(owner));
+        trim(false);
+        return raster;
+    }
+
+    synchronized void release(Object owner, Raster raster) {
+        Iterator<WeakReference<Object>> iterator = raster.owners.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == owner) {
+                iterator.remove();
+                break;
+            }
+        }
+        trim(false);
+    }
+
+    /**
+     * @param pooled Put the bitmaps of the evicted rasters into the pool, or leave them to the GC.
+     */
+    private void trim(boolean pooled) {
+        Raster raster = mHead;
+        while (mBytes > mMaxBytes && raster != null) {
+            Raster next = raster.next;
+            if (!raster.isReferenced()) {
+                unlink(raster);
+                mRasters.remove(raster.key);
+                mBytes -= raster.bytes;
+                mEvictionCount++;
+                if (pooled) {
+                    mBitmapPool.put(raster.bitmap);
+                }
+            }
+            raster = next;
+        }
+    }
+
+    private void link(Raster raster) {
+        raster.prev = mTail;
+        raster.next = null;
+        if (mTail != null) {
+            mTail.next = raster;
+        } else {
+            mHead = raster;
+        }
+        mTail = raster;
+    }
+
+    private void unlink(Raster raster) {
+        if (raster.prev != null) {
+            raster.prev.next = raster.next;
+        } else {
+            mHead = raster.next;
+        }
+        if (raster.next != null) {
+            raster.next.prev = raster.prev;
+        } else {
+            mTail = raster.prev;
+        }
+        raster.prev = null;
+        raster.next = null;
+    }
+
+    static class Raster {
+
+        final Key key;
+        final Bitmap bitmap;
+        final int bytes;
+
+        // the strategies drawing it
+        final List<WeakReference<Object>> owners = new ArrayList<>();
+
+        Raster prev;
+        Raster next;
+
+        Raster(Key key, Bitmap bitmap) {
+            this.key = key;
+            this.bitmap = bitmap;
+            this.bytes = SVGBitmapPool.getAllocationBytes(bitmap);
+        }
+
+        boolean isReferenced() {
+            Iterator<WeakReference<Object>> iterator = owners.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().get() == null) {
+                    iterator.remove();
+                }
+            }
+            return !owners.isEmpty();
+        }
+
+        boolean isSize(int width, int height) {
+            return key.width == width && key.height == height;
+        }
+
+    }
+
+    private static class Key {
+
+        private final Object content;
+        private final int width;
+        private final int height;
+
+        Key(Object content, int width, int height) {
+            this.content = content;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return width == key.width && height == key.height && content.equals(key.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return (content.hashCode() * 31 + width) * 31 + height;
+        }
+
+    }
+
+}
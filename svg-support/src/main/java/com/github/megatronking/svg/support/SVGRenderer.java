@@ -25,6 +25,8 @@ public abstract class SVGRenderer implements Cloneable {
     protected float mAlpha;
     protected int mWidth;
     protected int mHeight;
+    // the single color of the content, which is cached as an alpha mask, 0 if it has several colors
+    protected int mMonochromeColor;
 
     // matrix
     protected float mRotation = 0;
@@ -45,7 +47,14 @@ public abstract class SVGRenderer implements Cloneable {
 
     protected PathMeasure mPathMeasure;
 
+    // the scaled paths of the renderers which cache the geometry
+    protected Path[] mCachedPaths;
+    private int mCachedWidth;
+    private int mCachedHeight;
+
     private RendererStrategy mRendererStrategy;
+    private int mRendererStrategyType;
+    private RendererStrategyMetrics mStrategyMetrics = new RendererStrategyMetrics();
 
     public SVGRenderer(Context context) {
         this.mRenderPath = new Path();
@@ -61,6 +70,9 @@ public abstract class SVGRenderer implements Cloneable {
             // there is a reference in strategy, so we set it null
             // and the renderer will create a new strategy when drawing.
             renderer.mRendererStrategy = null;
+            renderer.mStrategyMetrics = new RendererStrategyMetrics();
+            // the cached paths would be rebuilt in place, so they can not be shared.
+            renderer.mCachedPaths = null;
         } catch (CloneNotSupportedException e) {
             // it may not happen
         }
@@ -74,19 +86,67 @@ public abstract class SVGRenderer implements Cloneable {
         return color;
     }
 
+    /**
+     * Prepare the cached paths for the size.
+     *
+     * @return true if the paths need to be built, or they are cached for the same size already.
+     */
+    protected boolean prepareCachedPaths(int width, int height, int count) {
+        if (mCachedPaths != null && mCachedPaths.length == count && mCachedWidth == width
+                && mCachedHeight == height) {
+            return false;
+        }
+        if (mCachedPaths == null || mCachedPaths.length != count) {
+            mCachedPaths = new Path[count];
+            for (int i = 0; i < count; i++) {
+                mCachedPaths[i] = new Path();
+            }
+        }
+        mCachedWidth = width;
+        mCachedHeight = height;
+        return true;
+    }
+
     protected int dip2px(float dipValue) {
         final float scale = mContext.getResources().getDisplayMetrics().density;
         return (int) (dipValue * scale + 0.5f);
     }
 
+    /**
+     * The renderers of the same key draw the same content, so they share the rasters in
+     * {@link SVGRasterCache}.
+     */
+    protected Object getRasterKey() {
+        return getClass();
+    }
+
+    public float getAlpha() {
+        return mAlpha;
+    }
+
+    public RendererStrategyMetrics getStrategyMetrics() {
+        return mStrategyMetrics;
+    }
+
     void draw(Canvas canvas, int width, int height, ColorFilter filter, Rect dst) {
         canvas.rotate(mRotation, mWidth * mPivotX, mHeight * mPivotY);
         canvas.translate(mTranslationX, mTranslationY);
         canvas.scale(mScaleX, mScaleY, mPivotX * mWidth, mHeight * mPivotY);
-        if (mRendererStrategy == null) {
-            mRendererStrategy = RendererStrategyFactory.create(this, canvas);
+        // The strategy is selected before each drawing, the canvas, the alpha and the bytes of the
+        // rasters may be changed since the former one.
+        int strategyType = RendererStrategyFactory.getPolicy().select(this, canvas, width, height,
+                mStrategyMetrics);
+        if (mRendererStrategy == null || mRendererStrategyType != strategyType) {
+            if (mRendererStrategy != null) {
+                mRendererStrategy.release();
+            }
+            mRendererStrategy = RendererStrategyFactory.create(this, strategyType);
+            mRendererStrategyType = strategyType;
+            mStrategyMetrics.onStrategyChanged(strategyType);
         }
+        long start = System.nanoTime();
         mRendererStrategy.draw(canvas, width, height, filter, dst);
+        mStrategyMetrics.onDraw(width, height, System.nanoTime() - start);
     }
 
     public abstract void render(Canvas canvas, int width, int height, ColorFilter filter);
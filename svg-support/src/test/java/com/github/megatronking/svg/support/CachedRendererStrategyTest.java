@@ -0,0 +1,113 @@
+package com.github.megatronking.svg.support;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The cached strategies render once while the alpha, the rotation and the scale of the drawable
+ * are animated, they are applied when the cache is drawn. Only a new size renders again.
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 21)
+public class CachedRendererStrategyTest {
+
+    private static final int SIZE = 96;
+    private static final int FRAMES = 60;
+
+    @After
+    public void tearDown() {
+        RendererStrategyFactory.setPolicy(null);
+    }
+
+    @Test
+    public void pictureRendersOnceWhileAnimating() {
+        assertRenderedOnce(RendererStrategyFactory.STRATEGY_PICTURE, 0);
+    }
+
+    @Test
+    public void bitmapRendersOnceWhileAnimating() {
+        assertRenderedOnce(RendererStrategyFactory.STRATEGY_BITMAP, 0);
+    }
+
+    @Test
+    public void monochromeBitmapRendersOnceWhileAnimating() {
+        assertRenderedOnce(RendererStrategyFactory.STRATEGY_BITMAP, Color.BLACK);
+    }
+
+    @Test
+    public void pictureRendersAgainWhenResized() {
+        useStrategy(RendererStrategyFactory.STRATEGY_PICTURE);
+        CountingRenderer renderer = new CountingRenderer(0);
+        SVGDrawable drawable = new SVGDrawable(renderer);
+        Canvas canvas = new Canvas();
+        drawable.setBounds(0, 0, SIZE, SIZE);
+        drawable.draw(canvas);
+        drawable.setBounds(0, 0, SIZE * 2, SIZE * 2);
+        drawable.draw(canvas);
+        assertEquals(2, renderer.renderCount);
+    }
+
+    private void assertRenderedOnce(int strategy, int monochromeColor) {
+        useStrategy(strategy);
+        CountingRenderer renderer = new CountingRenderer(monochromeColor);
+        SVGDrawable drawable = new SVGDrawable(renderer);
+        Canvas canvas = new Canvas();
+        drawable.setBounds(0, 0, SIZE, SIZE);
+        for (int i = 0; i <= FRAMES; i++) {
+            float fraction = (float) i / FRAMES;
+            drawable.setAlpha((int) (0xFF * (1 - fraction)));
+            drawable.setRotation(360 * fraction);
+            drawable.setScaleX(1 + fraction);
+            drawable.setScaleY(1 + fraction);
+            drawable.draw(canvas);
+        }
+        assertEquals(strategy, renderer.getStrategyMetrics().getStrategy());
+        assertEquals(FRAMES + 1, renderer.getStrategyMetrics().getDrawCount());
+        assertEquals(1, renderer.renderCount);
+    }
+
+    private void useStrategy(final int strategy) {
+        RendererStrategyFactory.setPolicy(new IRendererStrategyPolicy() {
+            @Override
+            public int select(SVGRenderer renderer, Canvas canvas, int width, int height,
+                              RendererStrategyMetrics metrics) {
+                return strategy;
+            }
+        });
+    }
+
+    private static class CountingRenderer extends SVGRenderer {
+
+        private int renderCount;
+
+        CountingRenderer(int monochromeColor) {
+            super(null);
+            mAlpha = 1.0f;
+            mWidth = SIZE;
+            mHeight = SIZE;
+            mMonochromeColor = monochromeColor;
+        }
+
+        @Override
+        protected Object getRasterKey() {
+            // the rasters are shared by the key, every test renders its own
+            return this;
+        }
+
+        @Override
+        public void render(Canvas canvas, int width, int height, ColorFilter filter) {
+            renderCount++;
+        }
+    }
+
+}
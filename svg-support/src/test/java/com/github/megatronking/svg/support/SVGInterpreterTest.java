@@ -0,0 +1,164 @@
+package com.github.megatronking.svg.support;
+
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import com.github.megatronking.svg.support.sample.SampleCodeRenderer;
+import com.github.megatronking.svg.support.sample.SampleDataRenderer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The interpreter must draw the same paths with the same paints as the code renderer of the same
+ * vector. SampleCodeRenderer and SampleDataRenderer are generated from the sample.svg of the test
+ * resources, by the code mode and by the data mode of svg-generator.
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 21)
+public class SVGInterpreterTest {
+
+    // The size of the viewport, the final path matrix is identity in this size.
+    private static final int SIZE = 48;
+
+    @Test
+    public void drawsTheSameAsTheCodeRenderer() throws Exception {
+        List<String> expected = record(new SampleCodeRenderer(RuntimeEnvironment.application));
+        List<String> actual = record(new SampleDataRenderer(RuntimeEnvironment.application));
+        assertEquals(6, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    private List<String> record(SVGRenderer renderer) throws Exception {
+        // The paths are final and the interpreter uses them, so the recording ones are set by reflection.
+        setPath(renderer, "mPath");
+        setPath(renderer, "mRenderPath");
+        RecordingCanvas canvas = new RecordingCanvas();
+        renderer.render(canvas, SIZE, SIZE, null);
+        return canvas.mDraws;
+    }
+
+    private static void setPath(SVGRenderer renderer, String name) throws Exception {
+        Field field = SVGRenderer.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(renderer, new RecordingPath());
+    }
+
+    private static class RecordingCanvas extends Canvas {
+
+        private final List<String> mDraws = new ArrayList<>();
+
+        @Override
+        public void drawPath(Path path, Paint paint) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(paint.getStyle()).append(' ').append(Integer.toHexString(paint.getColor()));
+            if (paint.getStyle() == Paint.Style.STROKE) {
+                sb.append(' ').append(paint.getStrokeCap()).append(' ').append(paint.getStrokeJoin())
+                        .append(' ').append(paint.getStrokeMiter()).append(' ').append(paint.getStrokeWidth());
+            } else {
+                sb.append(' ').append(path.getFillType());
+            }
+            sb.append(' ').append(((RecordingPath) path).mOps);
+            mDraws.add(sb.toString());
+        }
+    }
+
+    /**
+     * Record the commands as text. The matrices are ignored, they are identity in the size of the
+     * viewport. The fill type is kept by reset(), the same as android.graphics.Path.
+     */
+    private static class RecordingPath extends Path {
+
+        private final StringBuilder mOps = new StringBuilder();
+        private FillType mFillType = FillType.WINDING;
+
+        @Override
+        public void reset() {
+            mOps.setLength(0);
+        }
+
+        @Override
+        public void setFillType(FillType ft) {
+            mFillType = ft;
+        }
+
+        @Override
+        public FillType getFillType() {
+            return mFillType;
+        }
+
+        @Override
+        public void moveTo(float x, float y) {
+            add("M", x, y);
+        }
+
+        @Override
+        public void rMoveTo(float dx, float dy) {
+            add("m", dx, dy);
+        }
+
+        @Override
+        public void lineTo(float x, float y) {
+            add("L", x, y);
+        }
+
+        @Override
+        public void rLineTo(float dx, float dy) {
+            add("l", dx, dy);
+        }
+
+        @Override
+        public void quadTo(float x1, float y1, float x2, float y2) {
+            add("Q", x1, y1, x2, y2);
+        }
+
+        @Override
+        public void rQuadTo(float dx1, float dy1, float dx2, float dy2) {
+            add("q", dx1, dy1, dx2, dy2);
+        }
+
+        @Override
+        public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+            add("C", x1, y1, x2, y2, x3, y3);
+        }
+
+        @Override
+        public void rCubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+            add("c", x1, y1, x2, y2, x3, y3);
+        }
+
+        @Override
+        public void close() {
+            mOps.append('Z');
+        }
+
+        @Override
+        public void addPath(Path src, Matrix matrix) {
+            mOps.append(((RecordingPath) src).mOps);
+        }
+
+        @Override
+        public void transform(Matrix matrix) {
+        }
+
+        private void add(String op, float... coords) {
+            mOps.append(op);
+            for (float coord : coords) {
+                mOps.append(' ').append(coord);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.github.megatronking.svg.support.sample;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+
+import com.github.megatronking.svg.support.SVGRenderer;
+
+/**
+ * AUTO-GENERATED FILE.  DO NOT MODIFY.
+ * 
+ * This class was automatically generated by the
+ * SVG-Generator. It should not be modified by hand.
+ */
+public class SampleCodeRenderer extends SVGRenderer {
+
+    public SampleCodeRenderer(Context context) {
+        super(context);
+        mAlpha = 1.0f;
+        mWidth = dip2px(48.0f);
+        mHeight = dip2px(48.0f);
+    }
+
+    @Override
+    public void render(Canvas canvas, int w, int h, ColorFilter filter) {
+        final float scaleX = w / 48.0f;
+        final float scaleY = h / 48.0f;
+        final float minScale = Math.min(scaleX, scaleY);
+        
+        mPath.reset();
+        mRenderPath.reset();
+        
+        mFinalPathMatrix.setScale(scaleX, scaleY);
+        
+        mPath.moveTo(4.0f, 4.0f);
+        mPath.rLineTo(40.0f, 0.0f);
+        mPath.rLineTo(0.0f, 40.0f);
+        mPath.lineTo(4.0f, 44.0f);
+        mPath.close();
+        mPath.moveTo(4.0f, 4.0f);
+        
+        mRenderPath.addPath(mPath, mFinalPathMatrix);
+        if (mFillPaint == null) {
+            mFillPaint = new Paint();
+            mFillPaint.setStyle(Paint.Style.FILL);
+            mFillPaint.setAntiAlias(true);
+        }
+        mFillPaint.setColorFilter(filter);
+        mFillPaint.setColor(applyAlpha(-43230, 1.0f));
+        canvas.drawPath(mRenderPath, mFillPaint);
+        mPath.reset();
+        mRenderPath.reset();
+        
+        mPath.moveTo(8.0f, 8.0f);
+        mPath.rLineTo(8.0f, 0.0f);
+        mPath.rLineTo(0.0f, 8.0f);
+        mPath.close();
+        mPath.moveTo(8.0f, 8.0f);
+        
+        mRenderPath.addPath(mPath, mFinalPathMatrix);
+        canvas.drawPath(mRenderPath, mFillPaint);
+        mPath.reset();
+        mRenderPath.reset();
+        
+        mPath.moveTo(0.0f, 30.0f);
+        mPath.rQuadTo(12.0f, -8.0f, 24.0f, 0.0f);
+        mPath.rQuadTo(12.0f, 8.0f, 24.0f, 0.0f);
+        mPath.lineTo(48.0f, 48.0f);
+        mPath.lineTo(0.0f, 48.0f);
+        mPath.close();
+        mPath.moveTo(0.0f, 30.0f);
+        
+        mRenderPath.addPath(mPath, mFinalPathMatrix);
+        mFillPaint.setColor(applyAlpha(-11751600, 1.0f));
+        canvas.drawPath(mRenderPath, mFillPaint);
+        mPath.reset();
+        mRenderPath.reset();
+        
+        mPath.moveTo(6.0f, 24.0f);
+        mPath.cubicTo(9.563641f, 32.718002f, 20.552345f, 39.800037f, 30.515825f, 39.800037f);
+        mPath.cubicTo(40.479305f, 39.800037f, 45.626846f, 32.718002f, 42.0f, 24.0f);
+        mPath.rCubicTo(-4.0f, 6.0f, -10.0f, 8.0f, -18.0f, 8.0f);
+        mPath.rCubicTo(-8.0f, 0.0f, -14.0f, -2.0f, -18.0f, -8.0f);
+        
+        mRenderPath.addPath(mPath, mFinalPathMatrix);
+        if (mStrokePaint == null) {
+            mStrokePaint = new Paint();
+            mStrokePaint.setStyle(Paint.Style.STROKE);
+            mStrokePaint.setAntiAlias(true);
+        }
+        mStrokePaint.setColorFilter(filter);
+        mStrokePaint.setStrokeJoin(Paint.Join.BEVEL);
+        mStrokePaint.setStrokeCap(Paint.Cap.ROUND);
+        mStrokePaint.setStrokeMiter(4.0f);
+        mStrokePaint.setColor(applyAlpha(-14606047, 1.0f));
+        mStrokePaint.setStrokeWidth(minScale * 2.0f);
+        canvas.drawPath(mRenderPath, mStrokePaint);
+        mPath.reset();
+        mRenderPath.reset();
+        
+        mPath.moveTo(16.100504f, 9.853571f);
+        mPath.rLineTo(27.045923f, 7.246933f);
+        mPath.rLineTo(-7.246933f, 27.045923f);
+        mPath.lineTo(8.85357f, 36.899498f);
+        mPath.close();
+        mPath.moveTo(16.100504f, 9.853571f);
+        mPath.moveTo(20.343143f, 17.20204f);
+        mPath.rLineTo(15.454813f, 4.1411047f);
+        mPath.rLineTo(-4.1411047f, 15.454813f);
+        mPath.lineTo(16.20204f, 32.656853f);
+        mPath.close();
+        mPath.moveTo(20.343143f, 17.20204f);
+        
+        mRenderPath.addPath(mPath, mFinalPathMatrix);
+        mRenderPath.setFillType(android.graphics.Path.FillType.EVEN_ODD);
+        mFillPaint.setColor(applyAlpha(-12627531, 0.5f));
+        canvas.drawPath(mRenderPath, mFillPaint);
+        mPath.reset();
+        mRenderPath.reset();
+        
+        mPath.moveTo(4.0f, 44.0f);
+        mPath.lineTo(24.0f, 36.0f);
+        mPath.lineTo(44.0f, 44.0f);
+        
+        mRenderPath.addPath(mPath, mFinalPathMatrix);
+        mStrokePaint.setStrokeJoin(Paint.Join.MITER);
+        mStrokePaint.setStrokeCap(Paint.Cap.BUTT);
+        mStrokePaint.setStrokeMiter(6.0f);
+        mStrokePaint.setColor(applyAlpha(-16121, 0.8f));
+        mStrokePaint.setStrokeWidth(minScale * 3.0f);
+        canvas.drawPath(mRenderPath, mStrokePaint);
+
+    }
+
+}
\ No newline at end of file
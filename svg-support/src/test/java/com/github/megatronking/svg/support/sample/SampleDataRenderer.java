@@ -0,0 +1,42 @@
+package com.github.megatronking.svg.support.sample;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+
+import com.github.megatronking.svg.support.SVGInterpreter;
+import com.github.megatronking.svg.support.SVGRenderer;
+
+/**
+ * AUTO-GENERATED FILE.  DO NOT MODIFY.
+ * 
+ * This class was automatically generated by the
+ * SVG-Generator. It should not be modified by hand.
+ */
+public class SampleDataRenderer extends SVGRenderer {
+
+    private static final char[] OPS = SVGInterpreter.decodeOps(
+            "BMllLZMXF\uffff\u5722BMllZMXF\uffff\u5722BMqqLLZMXF\uff4c" +
+            "\uaf50BMCCccXS\uff21\u2121rbBMllLZMMllLZMXEF\u7f3f\u51b5B" +
+            "MLLXS\uccff\uc107bm");
+    private static final float[] COORDS = SVGInterpreter.decodeCoords(
+            "\u4240\u0000\u4240\u0000\u4080\u0000\u4080\u0000\u4220\u0000\u0000\u0000\u0000\u0000\u4220\u0000\u4080\u0000\u4230\u0000\u4080\u0000\u4080\u0000\u4100\u0000\u4100\u0000\u4100\u0000\u0000\u0000" +
+            "\u0000\u0000\u4100\u0000\u4100\u0000\u4100\u0000\u0000\u0000\u41f0\u0000\u4140\u0000\uc100\u0000\u41c0\u0000\u0000\u0000\u4140\u0000\u4100\u0000\u41c0\u0000\u0000\u0000\u4240\u0000\u4240\u0000" +
+            "\u0000\u0000\u4240\u0000\u0000\u0000\u41f0\u0000\u40c0\u0000\u41c0\u0000\u4119\u04ac\u4202\udf3c\u41a4\u6b34\u421f\u333d\u41f4\u2069\u421f\u333d\u4221\ueacf\u421f\u333d\u4236\u81e4\u4202\udf3c" +
+            "\u4228\u0000\u41c0\u0000\uc080\u0000\u40c0\u0000\uc120\u0000\u4100\u0000\uc190\u0000\u4100\u0000\uc100\u0000\u0000\u0000\uc160\u0000\uc000\u0000\uc190\u0000\uc100\u0000\u4080\u0000\u4000\u0000" +
+            "\u4180\ucdd5\u411d\ua83a\u41d8\u5e0d\u40e7\ue6e0\uc0e7\ue6e0\u41d8\u5e0d\u410d\ua839\u4213\u9916\u4180\ucdd5\u411d\ua83a\u41a2\ubec2\u4189\u9dc7\u4177\u46ea\u4084\u83ee\uc084\u83ee\u4177\u46ea" +
+            "\u4181\u9dc7\u4202\ua09e\u41a2\ubec2\u4189\u9dc7\u4080\u0000\u4230\u0000\u41c0\u0000\u4210\u0000\u4230\u0000\u4230\u0000\u40c0\u0000\u4040\u0000");
+
+    public SampleDataRenderer(Context context) {
+        super(context);
+        mAlpha = 1.0f;
+        mWidth = dip2px(48.0f);
+        mHeight = dip2px(48.0f);
+    }
+
+    @Override
+    public void render(Canvas canvas, int w, int h, ColorFilter filter) {
+        SVGInterpreter.render(this, canvas, w, h, filter, OPS, COORDS);
+    }
+
+}
\ No newline at end of file
@@ -1,28 +1,37 @@
 package com.github.megatronking.svg.applet.graphics;
 
-import com.github.megatronking.svg.generator.utils.PathDataNode;
+import com.github.megatronking.svg.generator.utils.PathData;
 
 import java.awt.geom.Path2D;
 
 /**
- * Given an array of VdPath.Node, generate a Path2D object.
+ * Given a PathData, generate a Path2D object.
  * In another word, this is the engine which converts the pathData into
  * a Path2D object, which is able to draw on Swing components.
  * The logic and math here are the same as PathParser.java in framework.
  */
 class VdNodeRender {
 
-    static void createPath(PathDataNode[] nodes, Path2D path) {
+    private static final int MAX_ARC_SEGMENTS = 64;
+
+    /**
+     * @param arcTolerance The max distance of the curves from the arcs in the units of the path
+     *                     data, 0 to split the arcs into the curves of 45 degrees.
+     */
+    static void createPath(PathData pathData, Path2D path, float arcTolerance) {
         float[] current = new float[6];
         char lastCmd = ' ';
-        for (PathDataNode node : nodes) {
-            addCommand(path, current, node.type, lastCmd, node.params);
-            lastCmd = node.type;
+        for (int i = 0; i < pathData.size(); i++) {
+            char cmd = pathData.getCommand(i);
+            addCommand(path, current, cmd, lastCmd, pathData.getCoords(),
+                    pathData.getParamOffset(i), pathData.getParamCount(i), arcTolerance);
+            lastCmd = cmd;
         }
     }
 
     private static void addCommand(Path2D path, float[] current, char cmd,
-                                   char lastCmd, float[] val) {
+                                   char lastCmd, float[] val, int offset, int count,
+                                   float arcTolerance) {
         int incr = 2;
 
         float cx = current[0];
@@ -67,7 +76,7 @@ class VdNodeRender {
                 incr = 7;
         }
 
-        for (int k = 0; k < val.length; k += incr) {
+        for (int k = offset; k < offset + count; k += incr) {
             boolean reflectCtrl;
             float tempReflectedX, tempReflectedY;
 
@@ -75,7 +84,7 @@ class VdNodeRender {
                 case 'm':
                     cx += val[k];
                     cy += val[k + 1];
-                    if (k > 0) {
+                    if (k > offset) {
                         // According to the spec, if a moveto is followed by multiple
                         // pairs of coordinates, the subsequent pairs are treated as
                         // implicit lineto commands.
@@ -89,7 +98,7 @@ class VdNodeRender {
                 case 'M':
                     cx = val[k];
                     cy = val[k + 1];
-                    if (k > 0) {
+                    if (k > offset) {
                         // According to the spec, if a moveto is followed by multiple
                         // pairs of coordinates, the subsequent pairs are treated as
                         // implicit lineto commands.
@@ -209,7 +218,7 @@ class VdNodeRender {
                     // (rx ry x-axis-rotation large-arc-flag sweep-flag x y)
                     drawArc(path, cx, cy, val[k + 5] + cx, val[k + 6] + cy,
                             val[k], val[k + 1], val[k + 2], val[k + 3] != 0,
-                            val[k + 4] != 0);
+                            val[k + 4] != 0, arcTolerance);
                     cx += val[k + 5];
                     cy += val[k + 6];
                     cpx = cx;
@@ -219,7 +228,7 @@ class VdNodeRender {
                 case 'A':
                     drawArc(path, cx, cy, val[k + 5], val[k + 6], val[k],
                             val[k + 1], val[k + 2], val[k + 3] != 0,
-                            val[k + 4] != 0);
+                            val[k + 4] != 0, arcTolerance);
                     cx = val[k + 5];
                     cy = val[k + 6];
                     cpx = cx;
@@ -240,7 +249,7 @@ class VdNodeRender {
 
     private static void drawArc(Path2D p, float x0, float y0, float x1,
                                 float y1, float a, float b, float theta, boolean isMoreThanHalf,
-                                boolean isPositiveArc) {
+                                boolean isPositiveArc, float arcTolerance) {
         /* Convert rotation angle from degrees to radians */
         double thetaD = theta * Math.PI / 180.0f;
         /* Pre-compute rotation matrix entries */
@@ -266,7 +275,7 @@ class VdNodeRender {
         if (disc < 0.0) {
             float adjust = (float) (Math.sqrt(dsq) / 1.99999);
             drawArc(p, x0, y0, x1, y1, a * adjust, b * adjust, theta,
-                    isMoreThanHalf, isPositiveArc);
+                    isMoreThanHalf, isPositiveArc, arcTolerance);
             return; /* Points are too far apart */
         }
         double s = Math.sqrt(disc);
@@ -298,7 +307,7 @@ class VdNodeRender {
         double tcx = cx;
         cx = cx * cosTheta - cy * sinTheta;
         cy = tcx * sinTheta + cy * cosTheta;
-        arcToBezier(p, cx, cy, a, b, x0, y0, thetaD, eta0, sweep);
+        arcToBezier(p, cx, cy, a, b, x0, y0, thetaD, eta0, sweep, arcTolerance);
     }
 
     /**
@@ -314,16 +323,18 @@ class VdNodeRender {
      * @param theta The angle that the ellipse bounding rectangle makes with the horizontal plane
      * @param start The start angle of the arc on the ellipse
      * @param sweep The angle (positive or negative) of the sweep of the arc on the ellipse
+     * @param arcTolerance The max distance of the curves from the arc
      */
     private static void arcToBezier(Path2D p, double cx, double cy, double a,
                                     double b, double e1x, double e1y, double theta, double start,
-                                    double sweep) {
+                                    double sweep, float arcTolerance) {
         // Taken from equations at:
         // http://spaceroots.org/documents/ellipse/node8.html
         // and http://www.spaceroots.org/documents/ellipse/node22.html
-        // Maximum of 45 degrees per cubic Bezier segment
-        int numSegments = (int) Math.ceil(Math.abs(sweep * 4 / Math.PI));
-
+        // The control points are of the tangent length 4/3 * tan(angle / 4), the ellipse is an
+        // affine circle, so its curves are as close as the circle's.
+        int numSegments = getArcSegmentCount(Math.max(Math.abs(a), Math.abs(b)), Math.abs(sweep),
+                arcTolerance);
 
         double eta1 = start;
         double cosTheta = Math.cos(theta);
@@ -344,9 +355,7 @@ class VdNodeRender {
                     + (b * cosTheta * sinEta2);
             double ep2x = -a * cosTheta * sinEta2 - b * sinTheta * cosEta2;
             double ep2y = -a * sinTheta * sinEta2 + b * cosTheta * cosEta2;
-            double tanDiff2 = Math.tan((eta2 - eta1) / 2);
-            double alpha = Math.sin(eta2 - eta1)
-                    * (Math.sqrt(4 + (3 * tanDiff2 * tanDiff2)) - 1) / 3;
+            double alpha = 4 * Math.tan((eta2 - eta1) / 4) / 3;
             double q1x = e1x + alpha * ep1x;
             double q1y = e1y + alpha * ep1y;
             double q2x = e2x - alpha * ep2x;
@@ -362,4 +371,29 @@ class VdNodeRender {
         }
     }
 
+    /**
+     * @return the fewest curves which are in the tolerance. The max distance of a curve from a
+     * circular arc of the angle a is r * 2 / 27 * sin(a / 4)^6 / cos(a / 4)^2.
+     */
+    private static int getArcSegmentCount(double radius, double sweep, float arcTolerance) {
+        if (arcTolerance <= 0) {
+            // Maximum of 45 degrees per cubic Bezier segment
+            return (int) Math.ceil(sweep * 4 / Math.PI);
+        }
+        if (sweep == 0) {
+            return 0;
+        }
+        int numSegments = 1;
+        while (numSegments < MAX_ARC_SEGMENTS) {
+            double quarter = sweep / numSegments / 4;
+            double sin = Math.sin(quarter);
+            double cos = Math.cos(quarter);
+            if (cos > 0 && radius * 2 / 27 * Math.pow(sin, 6) / (cos * cos) <= arcTolerance) {
+                break;
+            }
+            numSegments++;
+        }
+        return numSegments;
+    }
+
 }
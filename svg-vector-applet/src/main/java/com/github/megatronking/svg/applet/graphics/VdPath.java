@@ -1,6 +1,6 @@
 package com.github.megatronking.svg.applet.graphics;
 
-import com.github.megatronking.svg.generator.utils.PathDataNode;
+import com.github.megatronking.svg.generator.utils.PathData;
 
 import org.dom4j.Attribute;
 
@@ -40,7 +40,10 @@ class VdPath extends VdElement {
     private static final String LINEJOIN_ROUND = "round";
     private static final String LINEJOIN_BEVEL = "bevel";
 
-    private PathDataNode[] mNodeList = null;
+    // The max distance of the curves from the arcs in pixels.
+    private static final float ARC_TOLERANCE = 0.1f;
+
+    private PathData mPathData = null;
     private int mStrokeColor = 0;
     private int mFillColor = 0;
 
@@ -52,10 +55,10 @@ class VdPath extends VdElement {
     private float mFillAlpha = 1.0f;
     private int mFillType = PathIterator.WIND_NON_ZERO;
 
-    private void toPath(Path2D path) {
+    private void toPath(Path2D path, float scale) {
         path.reset();
-        if (mNodeList != null) {
-            VdNodeRender.createPath(mNodeList, path);
+        if (mPathData != null) {
+            VdNodeRender.createPath(mPathData, path, ARC_TOLERANCE / scale);
         }
     }
 
@@ -98,7 +101,7 @@ class VdPath extends VdElement {
 
     private void setNameValue(String name, String value) {
         if (PATH_DESCRIPTION.equals(name)) {
-            mNodeList = PathDataNode.createNodesFromPathData(value);
+            mPathData = PathData.parse(value);
         } else if (PATH_ID.equals(name)) {
             mName = value;
         } else if (PATH_FILL.equals(name)) {
@@ -157,7 +160,11 @@ class VdPath extends VdElement {
     @Override
     public void draw(Graphics2D g, AffineTransform currentMatrix, float scaleX, float scaleY) {
         Path2D path2d = new Path2D.Double(mFillType);
-        toPath(path2d);
+        // the pixels of a unit of the path data
+        float scale = Math.max(scaleX, scaleY) * (float) Math.max(
+                Math.hypot(currentMatrix.getScaleX(), currentMatrix.getShearY()),
+                Math.hypot(currentMatrix.getShearX(), currentMatrix.getScaleY()));
+        toPath(path2d, scale);
 
         // SWing operate the matrix is using pre-concatenate by default.
         // Below is how this is handled in Android framework.
@@ -201,10 +208,9 @@ class VdPath extends VdElement {
 
     @Override
     public String toString() {
-        //noinspection ImplicitArrayToString
         return "Path:" +
                 " Name: " + mName +
-                " Node: " + mNodeList.toString() +
+                " Node: " + mPathData +
                 " mFillColor: " + Integer.toHexString(mFillColor) +
                 " mFillAlpha:" + mFillAlpha +
                 " mFillType:" + mFillType +
@@ -212,4 +218,4 @@ class VdPath extends VdElement {
                 " mStrokeWidth:" + mStrokeWidth +
                 " mStrokeAlpha:" + mStrokeAlpha;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.github.megatronking.svg.cli;
 
+import com.github.megatronking.svg.generator.svg.ConversionOptions;
+import com.github.megatronking.svg.generator.svg.IOutputResolver;
 import com.github.megatronking.svg.generator.svg.Svg2Vector;
 import com.github.megatronking.svg.generator.utils.FileUtils;
 import com.github.megatronking.svg.generator.utils.SCU;
@@ -13,6 +15,8 @@ import org.apache.commons.cli.PosixParser;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The main.
@@ -31,6 +35,14 @@ public class Main {
         opt.addOption("o", "output", true, "the output vector file or directory");
         opt.addOption("w", "width", true, "the width size of target vector image");
         opt.addOption("h", "height", true, "the height size of target vector image");
+        opt.addOption("p", "package", true, "generate the renderer java classes of this package instead of vector");
+        opt.addOption("x", "xml", false, "keep the vector files along with the renderer java classes");
+        opt.addOption("c", "cache", false, "cache the scaled paths in the renderer java classes");
+        opt.addOption("t", "table", false, "generate the renderer java classes as data tables instead of code");
+        opt.addOption("s", "stroke", true, "outline the strokes into fills with this tolerance relative to the viewport, such as 0.001");
+        opt.addOption("a", "arc", true, "split the arcs into curves with this tolerance relative to the viewport, 0.0005 by default");
+        opt.addOption("u", "cull", false, "drop the paths covered by the opaque paths drawn later");
+        opt.addOption("m", "merge", false, "union the adjacent opaque fills of the same color while culling");
 
         HelpFormatter formatter = new HelpFormatter();
         CommandLineParser parser = new PosixParser();
@@ -70,12 +82,31 @@ public class Main {
             output = cl.getOptionValue("o");
         }
 
+        String packageName = null;
+        if (cl.hasOption("p")) {
+            packageName = cl.getOptionValue("p");
+        }
+        boolean keepXml = cl.hasOption("x");
+
+        ConversionOptions options = new ConversionOptions(width, height);
+        options.rendererPackage = packageName;
+        options.cacheGeometry = cl.hasOption("c");
+        options.dataRenderer = cl.hasOption("t");
+        if (cl.hasOption("s")) {
+            options.strokeTolerance = SCU.parseFloat(cl.getOptionValue("s"), 0);
+        }
+        if (cl.hasOption("a")) {
+            options.arcTolerance = SCU.parseFloat(cl.getOptionValue("a"), options.arcTolerance);
+        }
+        options.cullOccludedPaths = cl.hasOption("u");
+        options.mergeFills = cl.hasOption("m");
+
         if (output == null) {
             if (dir != null) {
                 output = dir;
             }
             if (file != null) {
-                output = FileUtils.noExtensionName(file) + ".xml";
+                output = FileUtils.noExtensionName(file) + (packageName == null ? ".xml" : ".java");
             }
         }
 
@@ -91,7 +122,7 @@ public class Main {
             }
             File outputDir = new File(output);
             if (outputDir.exists() || outputDir.mkdirs()) {
-                svg2vectorForDirectory(inputDir, outputDir, width, height);
+                svg2vectorForDirectory(inputDir, outputDir, options, keepXml);
             } else {
                 throw new RuntimeException("The path [" + outputDir + "] is not a valid directory");
             }
@@ -102,34 +133,68 @@ public class Main {
             if (!inputFile.exists() || !inputFile.isFile()) {
                 throw new RuntimeException("The path [" + file + "] is not exist or valid file");
             }
-            svg2vectorForFile(inputFile, new File(output), width, height);
+            svg2vectorForFile(inputFile, new File(output), options, keepXml);
         }
     }
 
-    private static void svg2vectorForDirectory(File inputDir, File outputDir, int width, int height) {
+    private static void svg2vectorForDirectory(File inputDir, final File outputDir, ConversionOptions options,
+                                               boolean keepXml) {
         File[] childFiles = inputDir.listFiles();
         if (childFiles != null) {
+            List<File> svgFiles = new ArrayList<>();
             for (File childFile : childFiles) {
-                if (childFile.isFile() && childFile.length() > 0) {
-                    svg2vectorForFile(childFile, new File(outputDir, FileUtils.noExtensionLastName(childFile) + ".xml"), width, height);
+                if (childFile.isFile() && childFile.length() > 0 && (childFile.getName().endsWith(".svg")
+                        || childFile.getName().endsWith(".svgz"))) {
+                    svgFiles.add(childFile);
+                }
+            }
+            IOutputResolver vectorResolver = new IOutputResolver() {
+                @Override
+                public File resolve(File inputSVG) {
+                    return new File(outputDir, FileUtils.noExtensionLastName(inputSVG) + ".xml");
                 }
+            };
+            IOutputResolver outputResolver = vectorResolver;
+            if (options.rendererPackage != null) {
+                options.vectorResolver = keepXml ? vectorResolver : null;
+                outputResolver = new IOutputResolver() {
+                    @Override
+                    public File resolve(File inputSVG) {
+                        return new File(outputDir, FileUtils.noExtensionLastName(inputSVG) + ".java");
+                    }
+                };
+            }
+            // Convert the files on all the cores.
+            try {
+                Svg2Vector.convertAll(svgFiles, outputResolver, options, null);
+            } catch (InterruptedException e) {
+                throw new RuntimeException("The conversion is interrupted");
             }
         }
     }
 
-    private static void svg2vectorForFile(File inputFile, File outputFile, int width, int height) {
+    private static void svg2vectorForFile(File inputFile, File outputFile, ConversionOptions options,
+                                          boolean keepXml) {
         if (inputFile.getName().endsWith(".svgz")) {
             File tempUnzipFile = new File(inputFile.getParent(), FileUtils.noExtensionLastName(inputFile) + ".svg");
             try {
                 FileUtils.unZipGzipFile(inputFile, tempUnzipFile);
-                svg2vectorForFile(tempUnzipFile, outputFile, width, height);
+                svg2vectorForFile(tempUnzipFile, outputFile, options, keepXml);
             } catch (IOException e){
                 throw new RuntimeException("Unzip file occur an error: " + e.getMessage());
             } finally {
                 tempUnzipFile.delete();
             }
         } else if (inputFile.getName().endsWith(".svg")) {
-            Svg2Vector.parseSvgToXml(inputFile, outputFile, width, height);
+            if (options.rendererPackage == null) {
+                Svg2Vector.parseSvgToXml(inputFile, outputFile, options.width, options.height);
+                return;
+            }
+            Svg2Vector.parseSvgToRenderer(inputFile, outputFile, options);
+            if (keepXml) {
+                Svg2Vector.parseSvgToXml(inputFile, new File(FileUtils.noExtensionFullName(outputFile) + ".xml"),
+                        options.width, options.height);
+            }
         }
     }
 